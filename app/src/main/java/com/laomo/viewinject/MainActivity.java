@@ -3,29 +3,31 @@ package com.laomo.viewinject;
 import android.app.Activity;
 import android.os.Bundle;
 import android.view.View;
-import android.view.View.OnClickListener;
 import android.widget.AdapterView;
 import android.widget.AdapterView.OnItemClickListener;
 import android.widget.ListView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.laomo.inject.OnClick;
 import com.laomo.inject.SmartKnife;
 import com.laomo.inject.ViewInject;
 
-public class MainActivity extends Activity implements OnClickListener, OnItemClickListener {
+public class MainActivity extends Activity implements OnItemClickListener {
 
-    @ViewInject(id = R.id.text, click = true)
+    @ViewInject(id = R.id.text)
     TextView textView;
 
     @ViewInject(id = R.id.list, itemClick = true)
     ListView listView;
 
+    private SmartKnife.Unbinder unbinder;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
-        SmartKnife.bind(this);
+        unbinder = SmartKnife.bind(this);
         textView.setText("点击");
         listView.setAdapter(new SimpleAdapter(this));
     }
@@ -33,10 +35,11 @@ public class MainActivity extends Activity implements OnClickListener, OnItemCli
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        unbinder.unbind();
     }
 
-    @Override
-    public void onClick(View v) {
+    @OnClick(id = R.id.text, debounce = 500)
+    void onTextClick() {
         Toast.makeText(this, "ViewInject Successfully!", Toast.LENGTH_LONG).show();
     }
 
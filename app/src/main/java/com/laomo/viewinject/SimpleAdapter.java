@@ -56,6 +56,9 @@ public class SimpleAdapter extends BaseAdapter {
     }
 
     static class ViewHolder {
+        private static final SmartKnife.TargetBinder<ViewHolder> BINDER =
+                SmartKnife.binderFor(ViewHolder.class);
+
         @ViewInject(id = R.id.word)
         TextView word;
         @ViewInject(id = R.id.length)
@@ -64,7 +67,7 @@ public class SimpleAdapter extends BaseAdapter {
         TextView position;
 
         ViewHolder(View view) {
-            SmartKnife.bind(this, view);
+            BINDER.bind(this, view);
         }
     }
 }
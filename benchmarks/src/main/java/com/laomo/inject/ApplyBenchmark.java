@@ -0,0 +1,189 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.util.Property;
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SmartKnife#apply} over the lists and arrays that {@link ViewsInject @ViewsInject} binds,
+ * with the generic {@link SmartKnife.Setter} and {@link Property} against the primitive setters.
+ * Run with {@code -prof gc} to check that applying allocates nothing; alpha values are boxed for
+ * the generic overloads, while visibilities and booleans hit the box caches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApplyBenchmark {
+
+    private static final SmartKnife.Action<View> SHOW = new SmartKnife.Action<View>() {
+        @Override public void apply(View view, int index) {
+            view.setVisibility(View.VISIBLE);
+        }
+    };
+
+    private static final SmartKnife.Setter<View, Integer> VISIBILITY =
+            new SmartKnife.Setter<View, Integer>() {
+                @Override public void set(View view, Integer value, int index) {
+                    view.setVisibility(value);
+                }
+            };
+
+    private static final SmartKnife.IntSetter<View> INT_VISIBILITY = new SmartKnife.IntSetter<View>() {
+        @Override public void set(View view, int value, int index) {
+            view.setVisibility(value);
+        }
+    };
+
+    private static final SmartKnife.Setter<View, Float> ALPHA = new SmartKnife.Setter<View, Float>() {
+        @Override public void set(View view, Float value, int index) {
+            view.setAlpha(value);
+        }
+    };
+
+    private static final SmartKnife.FloatSetter<View> FLOAT_ALPHA = new SmartKnife.FloatSetter<View>() {
+        @Override public void set(View view, float value, int index) {
+            view.setAlpha(value);
+        }
+    };
+
+    private static final Property<View, Float> ALPHA_PROPERTY = new Property<View, Float>(Float.class, "alpha") {
+        @Override public Float get(View view) {
+            return view.getAlpha();
+        }
+
+        @Override public void set(View view, Float value) {
+            view.setAlpha(value);
+        }
+    };
+
+    private static final SmartKnife.Setter<View, Boolean> ENABLED = new SmartKnife.Setter<View, Boolean>() {
+        @Override public void set(View view, Boolean value, int index) {
+            view.setEnabled(value);
+        }
+    };
+
+    private static final SmartKnife.BooleanSetter<View> BOOLEAN_ENABLED = new SmartKnife.BooleanSetter<View>() {
+        @Override public void set(View view, boolean value, int index) {
+            view.setEnabled(value);
+        }
+    };
+
+    @Param({ "10", "100" })
+    public int size;
+
+    private View[] array;
+    private List<View> views;
+    private int visibility;
+    private float alpha;
+    private boolean enabled;
+
+    @Setup
+    public void setUp() {
+        Context context = new Context();
+        array = new View[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = new View(context);
+        }
+        views = SmartKnife.Finder.listOf(array);
+    }
+
+    @Benchmark
+    public Object applyAction() {
+        SmartKnife.apply(views, SHOW);
+        return views;
+    }
+
+    @Benchmark
+    public Object applySetter() {
+        // Alternate the value so the setter cannot be folded into a constant.
+        visibility = visibility == View.GONE ? View.VISIBLE : View.GONE;
+        SmartKnife.apply(views, VISIBILITY, visibility);
+        return views;
+    }
+
+    @Benchmark
+    public Object applyActionArray() {
+        SmartKnife.apply(array, SHOW);
+        return array;
+    }
+
+    @Benchmark
+    public Object applySetterArray() {
+        visibility = visibility == View.GONE ? View.VISIBLE : View.GONE;
+        SmartKnife.apply(array, VISIBILITY, visibility);
+        return array;
+    }
+
+    @Benchmark
+    public Object applyIntSetter() {
+        visibility = visibility == View.GONE ? View.VISIBLE : View.GONE;
+        SmartKnife.applyInt(views, INT_VISIBILITY, visibility);
+        return views;
+    }
+
+    @Benchmark
+    public Object applyIntSetterArray() {
+        visibility = visibility == View.GONE ? View.VISIBLE : View.GONE;
+        SmartKnife.applyInt(array, INT_VISIBILITY, visibility);
+        return array;
+    }
+
+    @Benchmark
+    public Object applyAlphaSetter() {
+        alpha = nextAlpha(alpha);
+        SmartKnife.apply(views, ALPHA, alpha);
+        return views;
+    }
+
+    @Benchmark
+    public Object applyAlphaProperty() {
+        alpha = nextAlpha(alpha);
+        SmartKnife.apply(views, ALPHA_PROPERTY, alpha);
+        return views;
+    }
+
+    @Benchmark
+    public Object applyFloatSetter() {
+        alpha = nextAlpha(alpha);
+        SmartKnife.applyFloat(views, FLOAT_ALPHA, alpha);
+        return views;
+    }
+
+    @Benchmark
+    public Object applyFloatSetterArray() {
+        alpha = nextAlpha(alpha);
+        SmartKnife.applyFloat(array, FLOAT_ALPHA, alpha);
+        return array;
+    }
+
+    @Benchmark
+    public Object applyEnabledSetter() {
+        enabled = !enabled;
+        SmartKnife.apply(views, ENABLED, enabled);
+        return views;
+    }
+
+    @Benchmark
+    public Object applyBooleanSetter() {
+        enabled = !enabled;
+        SmartKnife.applyBoolean(views, BOOLEAN_ENABLED, enabled);
+        return views;
+    }
+
+    /** A different alpha on every call, so it cannot come from a cache or be folded. */
+    private static float nextAlpha(float alpha) {
+        return alpha >= 1f ? 0f : alpha + 0.01f;
+    }
+}
@@ -0,0 +1,91 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+import com.laomo.inject.SmartKnife.ViewBinder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding the binder of a class, with and without a cache hit. The two map benchmarks
+ * compare cache hits in the {@code ConcurrentHashMap} the cache is with the {@code LinkedHashMap}
+ * it used to be.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinderLookupBenchmark {
+
+    private Targets.Fields1 target;
+    private View root;
+    private SmartKnife.TargetBinder<Targets.Fields1> binder;
+    private Class<?>[] keys;
+    private Map<Class<?>, ViewBinder<Object>> linkedHashMap;
+    private Map<Class<?>, ViewBinder<Object>> concurrentHashMap;
+
+    @Setup
+    public void setUp() {
+        target = new Targets.Fields1();
+        root = ViewTrees.flat(1);
+        binder = SmartKnife.binderFor(Targets.Fields1.class);
+        keys = new Class<?>[] { Targets.Fields1.class, Targets.Fields10.class, Targets.Fields50.class,
+                Targets.Fields100.class, String.class, Integer.class, Long.class, Object.class, View.class,
+                List.class, Map.class, Thread.class, Runnable.class, Class.class };
+        linkedHashMap = new LinkedHashMap<Class<?>, ViewBinder<Object>>();
+        concurrentHashMap = new ConcurrentHashMap<Class<?>, ViewBinder<Object>>();
+        for (Class<?> key : keys) {
+            linkedHashMap.put(key, SmartKnife.NOP_VIEW_BINDER);
+            concurrentHashMap.put(key, SmartKnife.NOP_VIEW_BINDER);
+        }
+    }
+
+    @Benchmark
+    public Object warmLookup() {
+        return SmartKnife.binderFor(Targets.Fields1.class);
+    }
+
+    @Benchmark
+    public Object coldLookup() {
+        SmartKnife.INJECTORS.clear();
+        return SmartKnife.binderFor(Targets.Fields1.class);
+    }
+
+    @Benchmark
+    public void linkedHashMapHits(Blackhole blackhole) {
+        for (Class<?> key : keys) {
+            blackhole.consume(linkedHashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMapHits(Blackhole blackhole) {
+        for (Class<?> key : keys) {
+            blackhole.consume(concurrentHashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public Object bind() {
+        SmartKnife.bind(target, root);
+        return target;
+    }
+
+    @Benchmark
+    public Object bindWithHandle() {
+        binder.bind(target, root);
+        return target;
+    }
+}
@@ -0,0 +1,153 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.view.View;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles the same {@link SyntheticModule} with one binder class per target and with
+ * {@code -Asmartknife.consolidate=true}, and compares the generated class count and the cold
+ * start cost of binding every target once. Each cold start runs in a fresh class loader, so it
+ * loads SmartKnife, the index, the targets, their binders and unbinders from scratch. Both builds
+ * get the binder index {@value #INDEX}, which consolidated binders need.
+ * <p>
+ * Arguments: {@code [classCount [maxFields [depth [runs]]]] [-Akey=value ...]}. The {@code -A}
+ * options are passed on to the processor for both compilations.
+ */
+public final class ClassLoadingBenchmark {
+
+    static final String INDEX = "com.example.BenchmarkIndex";
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> sizes = new ArrayList<Integer>();
+        List<String> processorOptions = new ArrayList<String>();
+        for (String arg : args) {
+            if (arg.startsWith("-A")) {
+                processorOptions.add(arg);
+            } else {
+                sizes.add(Integer.parseInt(arg));
+            }
+        }
+        int classCount = sizes.size() > 0 ? sizes.get(0) : 1000;
+        int maxFields = sizes.size() > 1 ? sizes.get(1) : 20;
+        int depth = sizes.size() > 2 ? sizes.get(2) : 3;
+        int runs = sizes.size() > 3 ? sizes.get(3) : 10;
+
+        processorOptions.add("-Asmartknife.index=" + INDEX);
+        File dir = createTempDir();
+        List<File> sources = new SyntheticModule(classCount, maxFields, depth, 42L)
+                .write(new File(dir, "src"));
+        File perTarget = compile(sources, new File(dir, "perTarget"), processorOptions);
+        List<String> consolidateOptions = new ArrayList<String>(processorOptions);
+        consolidateOptions.add("-Asmartknife.consolidate=true");
+        File consolidated = compile(sources, new File(dir, "consolidated"), consolidateOptions);
+
+        report("One binder per target", perTarget, classCount, runs);
+        report("One binder per package", consolidated, classCount, runs);
+    }
+
+    private static void report(String what, File classesDir, int classCount, int runs) throws Exception {
+        int[] counts = new int[2];
+        countBinderClasses(classesDir, counts);
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            nanos[i] = coldStart(classesDir, classCount);
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%s: %d binder classes, %d KB; first bind of %d targets: median %d ms, min %d ms.%n",
+                what, counts[0], counts[1] / 1024, classCount, nanos[runs / 2] / 1000000, nanos[0] / 1000000);
+    }
+
+    /** Binds a new instance of every target once, in a class loader that has loaded nothing yet. */
+    private static long coldStart(File classesDir, int classCount) throws Exception {
+        List<URL> urls = new ArrayList<URL>();
+        urls.add(classesDir.toURI().toURL());
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[urls.size()]), null);
+        try {
+            long start = System.nanoTime();
+            Class<?> viewClass = loader.loadClass(View.class.getName());
+            Object root = loader.loadClass(AnyIdView.class.getName())
+                    .getConstructor(loader.loadClass(Context.class.getName()))
+                    .newInstance(new Object[] { null });
+            Class<?> smartKnife = loader.loadClass(SmartKnife.class.getName());
+            smartKnife.getMethod("addIndex", loader.loadClass(SmartKnife.BinderIndex.class.getName()))
+                    .invoke(null, loader.loadClass(INDEX).getDeclaredConstructor().newInstance());
+            Method bind = smartKnife.getMethod("bind", Object.class, viewClass);
+            for (int i = 0; i < classCount; i++) {
+                Class<?> targetClass = loader.loadClass(SyntheticModule.getClassName(i));
+                bind.invoke(null, targetClass.getDeclaredConstructor().newInstance(), root);
+            }
+            return System.nanoTime() - start;
+        } finally {
+            loader.close();
+        }
+    }
+
+    /** Adds the number and total size of the generated class files below {@code dir} to {@code counts}. */
+    private static void countBinderClasses(File dir, int[] counts) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                countBinderClasses(file, counts);
+            } else if (file.getName().contains("$$") && file.getName().endsWith(".class")) {
+                counts[0]++;
+                counts[1] += file.length();
+            }
+        }
+    }
+
+    /** Compiles {@code sources} and returns the directory of the class files. */
+    private static File compile(List<File> sources, File dir, List<String> processorOptions)
+            throws IOException {
+        File generatedDir = new File(dir, "generated");
+        File classesDir = new File(dir, "classes");
+        if (!generatedDir.mkdirs() || !classesDir.mkdirs()) {
+            throw new IOException("Unable to create output directories in " + dir);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        List<String> options = new ArrayList<String>();
+        Collections.addAll(options,
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDir.getPath(),
+                "-s", generatedDir.getPath());
+        options.addAll(processorOptions);
+        Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+        task.setProcessors(Collections.singletonList(new SmartKnifeProcessor()));
+        boolean success = task.call();
+        fileManager.close();
+        if (!success) {
+            throw new IOException("Compilation failed in " + dir);
+        }
+        return classesDir;
+    }
+
+    private static File createTempDir() throws IOException {
+        File file = File.createTempFile("smartknife-classloading", "");
+        if (!file.delete() || !file.mkdir()) {
+            throw new IOException("Unable to create " + file);
+        }
+        return file;
+    }
+}
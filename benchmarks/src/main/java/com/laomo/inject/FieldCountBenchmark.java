@@ -0,0 +1,70 @@
+package com.laomo.inject;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.content.Context;
+import android.view.View;
+
+import com.laomo.inject.SmartKnife.Finder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding cost as the number of bound fields grows. {@link #finderPerField} replays what binders
+ * did before they were specialized per source: the {@link GenericBinders} call a {@link Finder}
+ * per field and cast its result. They bind views, activities and dialogs in turn, so the
+ * {@code Finder} calls see three constants, as they did in an app that binds all three.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FieldCountBenchmark {
+
+    private static final Finder[] FINDERS = { Finder.VIEW, Finder.ACTIVITY, Finder.DIALOG };
+
+    @Param({ "1", "10", "50", "100" })
+    public int fieldCount;
+
+    private Object target;
+    private View root;
+    private GenericBinders.GenericBinder<Object> genericBinder;
+    private Object[] sources;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        target = Targets.withFields(fieldCount).getDeclaredConstructor().newInstance();
+        root = ViewTrees.flat(fieldCount);
+        SmartKnife.bind(target, root);
+
+        genericBinder = GenericBinders.withFields(fieldCount);
+        Activity activity = new Activity();
+        activity.setContentView(ViewTrees.flat(fieldCount));
+        Dialog dialog = new Dialog(new Context());
+        dialog.setContentView(ViewTrees.flat(fieldCount));
+        sources = new Object[] { root, activity, dialog };
+    }
+
+    @Benchmark
+    public Object bind() {
+        SmartKnife.bind(target, root);
+        return target;
+    }
+
+    @Benchmark
+    public Object finderPerField() {
+        int source = next;
+        next = source == FINDERS.length - 1 ? 0 : source + 1;
+        genericBinder.bind(FINDERS[source], target, sources[source]);
+        return target;
+    }
+}
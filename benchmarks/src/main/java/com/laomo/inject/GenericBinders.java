@@ -0,0 +1,209 @@
+package com.laomo.inject;
+
+import com.laomo.inject.SmartKnife.Finder;
+
+/**
+ * The binders of {@link Targets} as the processor generated them before binders were specialized
+ * per source: one generic {@link Finder} call per field, with the result cast to the field type on
+ * assignment. {@link FieldCountBenchmark#finderPerField} replays them.
+ */
+final class GenericBinders {
+
+    interface GenericBinder<T> {
+        void bind(Finder finder, T target, Object source);
+    }
+
+    @SuppressWarnings("unchecked") // Binders only ever receive targets of their own class.
+    static GenericBinder<Object> withFields(int fieldCount) {
+        GenericBinder<?> binder;
+        switch (fieldCount) {
+            case 1: binder = new Fields1Binder(); break;
+            case 10: binder = new Fields10Binder(); break;
+            case 50: binder = new Fields50Binder(); break;
+            case 100: binder = new Fields100Binder(); break;
+            default: throw new IllegalArgumentException("No binder for " + fieldCount + " fields");
+        }
+        return (GenericBinder<Object>) binder;
+    }
+
+    static final class Fields1Binder implements GenericBinder<Targets.Fields1> {
+        @Override public void bind(Finder finder, Targets.Fields1 target, Object source) {
+            target.v1 = finder.findRequiredView(source, 1, "v1");
+        }
+    }
+
+    static final class Fields10Binder implements GenericBinder<Targets.Fields10> {
+        @Override public void bind(Finder finder, Targets.Fields10 target, Object source) {
+            target.v1 = finder.findRequiredView(source, 1, "v1");
+            target.v2 = finder.findRequiredView(source, 2, "v2");
+            target.v3 = finder.findRequiredView(source, 3, "v3");
+            target.v4 = finder.findRequiredView(source, 4, "v4");
+            target.v5 = finder.findRequiredView(source, 5, "v5");
+            target.v6 = finder.findRequiredView(source, 6, "v6");
+            target.v7 = finder.findRequiredView(source, 7, "v7");
+            target.v8 = finder.findRequiredView(source, 8, "v8");
+            target.v9 = finder.findRequiredView(source, 9, "v9");
+            target.v10 = finder.findRequiredView(source, 10, "v10");
+        }
+    }
+
+    static final class Fields50Binder implements GenericBinder<Targets.Fields50> {
+        @Override public void bind(Finder finder, Targets.Fields50 target, Object source) {
+            target.v1 = finder.findRequiredView(source, 1, "v1");
+            target.v2 = finder.findRequiredView(source, 2, "v2");
+            target.v3 = finder.findRequiredView(source, 3, "v3");
+            target.v4 = finder.findRequiredView(source, 4, "v4");
+            target.v5 = finder.findRequiredView(source, 5, "v5");
+            target.v6 = finder.findRequiredView(source, 6, "v6");
+            target.v7 = finder.findRequiredView(source, 7, "v7");
+            target.v8 = finder.findRequiredView(source, 8, "v8");
+            target.v9 = finder.findRequiredView(source, 9, "v9");
+            target.v10 = finder.findRequiredView(source, 10, "v10");
+            target.v11 = finder.findRequiredView(source, 11, "v11");
+            target.v12 = finder.findRequiredView(source, 12, "v12");
+            target.v13 = finder.findRequiredView(source, 13, "v13");
+            target.v14 = finder.findRequiredView(source, 14, "v14");
+            target.v15 = finder.findRequiredView(source, 15, "v15");
+            target.v16 = finder.findRequiredView(source, 16, "v16");
+            target.v17 = finder.findRequiredView(source, 17, "v17");
+            target.v18 = finder.findRequiredView(source, 18, "v18");
+            target.v19 = finder.findRequiredView(source, 19, "v19");
+            target.v20 = finder.findRequiredView(source, 20, "v20");
+            target.v21 = finder.findRequiredView(source, 21, "v21");
+            target.v22 = finder.findRequiredView(source, 22, "v22");
+            target.v23 = finder.findRequiredView(source, 23, "v23");
+            target.v24 = finder.findRequiredView(source, 24, "v24");
+            target.v25 = finder.findRequiredView(source, 25, "v25");
+            target.v26 = finder.findRequiredView(source, 26, "v26");
+            target.v27 = finder.findRequiredView(source, 27, "v27");
+            target.v28 = finder.findRequiredView(source, 28, "v28");
+            target.v29 = finder.findRequiredView(source, 29, "v29");
+            target.v30 = finder.findRequiredView(source, 30, "v30");
+            target.v31 = finder.findRequiredView(source, 31, "v31");
+            target.v32 = finder.findRequiredView(source, 32, "v32");
+            target.v33 = finder.findRequiredView(source, 33, "v33");
+            target.v34 = finder.findRequiredView(source, 34, "v34");
+            target.v35 = finder.findRequiredView(source, 35, "v35");
+            target.v36 = finder.findRequiredView(source, 36, "v36");
+            target.v37 = finder.findRequiredView(source, 37, "v37");
+            target.v38 = finder.findRequiredView(source, 38, "v38");
+            target.v39 = finder.findRequiredView(source, 39, "v39");
+            target.v40 = finder.findRequiredView(source, 40, "v40");
+            target.v41 = finder.findRequiredView(source, 41, "v41");
+            target.v42 = finder.findRequiredView(source, 42, "v42");
+            target.v43 = finder.findRequiredView(source, 43, "v43");
+            target.v44 = finder.findRequiredView(source, 44, "v44");
+            target.v45 = finder.findRequiredView(source, 45, "v45");
+            target.v46 = finder.findRequiredView(source, 46, "v46");
+            target.v47 = finder.findRequiredView(source, 47, "v47");
+            target.v48 = finder.findRequiredView(source, 48, "v48");
+            target.v49 = finder.findRequiredView(source, 49, "v49");
+            target.v50 = finder.findRequiredView(source, 50, "v50");
+        }
+    }
+
+    static final class Fields100Binder implements GenericBinder<Targets.Fields100> {
+        @Override public void bind(Finder finder, Targets.Fields100 target, Object source) {
+            target.v1 = finder.findRequiredView(source, 1, "v1");
+            target.v2 = finder.findRequiredView(source, 2, "v2");
+            target.v3 = finder.findRequiredView(source, 3, "v3");
+            target.v4 = finder.findRequiredView(source, 4, "v4");
+            target.v5 = finder.findRequiredView(source, 5, "v5");
+            target.v6 = finder.findRequiredView(source, 6, "v6");
+            target.v7 = finder.findRequiredView(source, 7, "v7");
+            target.v8 = finder.findRequiredView(source, 8, "v8");
+            target.v9 = finder.findRequiredView(source, 9, "v9");
+            target.v10 = finder.findRequiredView(source, 10, "v10");
+            target.v11 = finder.findRequiredView(source, 11, "v11");
+            target.v12 = finder.findRequiredView(source, 12, "v12");
+            target.v13 = finder.findRequiredView(source, 13, "v13");
+            target.v14 = finder.findRequiredView(source, 14, "v14");
+            target.v15 = finder.findRequiredView(source, 15, "v15");
+            target.v16 = finder.findRequiredView(source, 16, "v16");
+            target.v17 = finder.findRequiredView(source, 17, "v17");
+            target.v18 = finder.findRequiredView(source, 18, "v18");
+            target.v19 = finder.findRequiredView(source, 19, "v19");
+            target.v20 = finder.findRequiredView(source, 20, "v20");
+            target.v21 = finder.findRequiredView(source, 21, "v21");
+            target.v22 = finder.findRequiredView(source, 22, "v22");
+            target.v23 = finder.findRequiredView(source, 23, "v23");
+            target.v24 = finder.findRequiredView(source, 24, "v24");
+            target.v25 = finder.findRequiredView(source, 25, "v25");
+            target.v26 = finder.findRequiredView(source, 26, "v26");
+            target.v27 = finder.findRequiredView(source, 27, "v27");
+            target.v28 = finder.findRequiredView(source, 28, "v28");
+            target.v29 = finder.findRequiredView(source, 29, "v29");
+            target.v30 = finder.findRequiredView(source, 30, "v30");
+            target.v31 = finder.findRequiredView(source, 31, "v31");
+            target.v32 = finder.findRequiredView(source, 32, "v32");
+            target.v33 = finder.findRequiredView(source, 33, "v33");
+            target.v34 = finder.findRequiredView(source, 34, "v34");
+            target.v35 = finder.findRequiredView(source, 35, "v35");
+            target.v36 = finder.findRequiredView(source, 36, "v36");
+            target.v37 = finder.findRequiredView(source, 37, "v37");
+            target.v38 = finder.findRequiredView(source, 38, "v38");
+            target.v39 = finder.findRequiredView(source, 39, "v39");
+            target.v40 = finder.findRequiredView(source, 40, "v40");
+            target.v41 = finder.findRequiredView(source, 41, "v41");
+            target.v42 = finder.findRequiredView(source, 42, "v42");
+            target.v43 = finder.findRequiredView(source, 43, "v43");
+            target.v44 = finder.findRequiredView(source, 44, "v44");
+            target.v45 = finder.findRequiredView(source, 45, "v45");
+            target.v46 = finder.findRequiredView(source, 46, "v46");
+            target.v47 = finder.findRequiredView(source, 47, "v47");
+            target.v48 = finder.findRequiredView(source, 48, "v48");
+            target.v49 = finder.findRequiredView(source, 49, "v49");
+            target.v50 = finder.findRequiredView(source, 50, "v50");
+            target.v51 = finder.findRequiredView(source, 51, "v51");
+            target.v52 = finder.findRequiredView(source, 52, "v52");
+            target.v53 = finder.findRequiredView(source, 53, "v53");
+            target.v54 = finder.findRequiredView(source, 54, "v54");
+            target.v55 = finder.findRequiredView(source, 55, "v55");
+            target.v56 = finder.findRequiredView(source, 56, "v56");
+            target.v57 = finder.findRequiredView(source, 57, "v57");
+            target.v58 = finder.findRequiredView(source, 58, "v58");
+            target.v59 = finder.findRequiredView(source, 59, "v59");
+            target.v60 = finder.findRequiredView(source, 60, "v60");
+            target.v61 = finder.findRequiredView(source, 61, "v61");
+            target.v62 = finder.findRequiredView(source, 62, "v62");
+            target.v63 = finder.findRequiredView(source, 63, "v63");
+            target.v64 = finder.findRequiredView(source, 64, "v64");
+            target.v65 = finder.findRequiredView(source, 65, "v65");
+            target.v66 = finder.findRequiredView(source, 66, "v66");
+            target.v67 = finder.findRequiredView(source, 67, "v67");
+            target.v68 = finder.findRequiredView(source, 68, "v68");
+            target.v69 = finder.findRequiredView(source, 69, "v69");
+            target.v70 = finder.findRequiredView(source, 70, "v70");
+            target.v71 = finder.findRequiredView(source, 71, "v71");
+            target.v72 = finder.findRequiredView(source, 72, "v72");
+            target.v73 = finder.findRequiredView(source, 73, "v73");
+            target.v74 = finder.findRequiredView(source, 74, "v74");
+            target.v75 = finder.findRequiredView(source, 75, "v75");
+            target.v76 = finder.findRequiredView(source, 76, "v76");
+            target.v77 = finder.findRequiredView(source, 77, "v77");
+            target.v78 = finder.findRequiredView(source, 78, "v78");
+            target.v79 = finder.findRequiredView(source, 79, "v79");
+            target.v80 = finder.findRequiredView(source, 80, "v80");
+            target.v81 = finder.findRequiredView(source, 81, "v81");
+            target.v82 = finder.findRequiredView(source, 82, "v82");
+            target.v83 = finder.findRequiredView(source, 83, "v83");
+            target.v84 = finder.findRequiredView(source, 84, "v84");
+            target.v85 = finder.findRequiredView(source, 85, "v85");
+            target.v86 = finder.findRequiredView(source, 86, "v86");
+            target.v87 = finder.findRequiredView(source, 87, "v87");
+            target.v88 = finder.findRequiredView(source, 88, "v88");
+            target.v89 = finder.findRequiredView(source, 89, "v89");
+            target.v90 = finder.findRequiredView(source, 90, "v90");
+            target.v91 = finder.findRequiredView(source, 91, "v91");
+            target.v92 = finder.findRequiredView(source, 92, "v92");
+            target.v93 = finder.findRequiredView(source, 93, "v93");
+            target.v94 = finder.findRequiredView(source, 94, "v94");
+            target.v95 = finder.findRequiredView(source, 95, "v95");
+            target.v96 = finder.findRequiredView(source, 96, "v96");
+            target.v97 = finder.findRequiredView(source, 97, "v97");
+            target.v98 = finder.findRequiredView(source, 98, "v98");
+            target.v99 = finder.findRequiredView(source, 99, "v99");
+            target.v100 = finder.findRequiredView(source, 100, "v100");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding ten fields in flat and deep trees of a hundred named views. The other two benchmarks
+ * resolve ten IDs spread over the whole tree, with one {@code findViewById} walk per ID or with
+ * one {@link ViewLookup} walk for all of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HierarchyBenchmark {
+
+    private static final int FIELD_COUNT = 10;
+
+    @Param({ "flat", "deep" })
+    public String shape;
+
+    private Targets.Fields10 target;
+    private View root;
+    private int[] ids;
+
+    @Setup
+    public void setUp() {
+        target = new Targets.Fields10();
+        root = ViewTrees.create(shape, Targets.MAX_FIELDS);
+        ids = new int[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            // Spread the bound IDs over the whole tree.
+            ids[i] = (i + 1) * Targets.MAX_FIELDS / FIELD_COUNT;
+        }
+        SmartKnife.bind(target, root);
+    }
+
+    @Benchmark
+    public Object bind() {
+        SmartKnife.bind(target, root);
+        return target;
+    }
+
+    @Benchmark
+    public void findViewByIdPerId(Blackhole blackhole) {
+        for (int id : ids) {
+            blackhole.consume(root.findViewById(id));
+        }
+    }
+
+    @Benchmark
+    public Object viewLookup() {
+        return new ViewLookup(root).findViewsById(ids);
+    }
+}
@@ -0,0 +1,69 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of a {@link SmartKnife.MetricsListener} that only counts, against no listener. Most of
+ * it is the four {@code System.nanoTime()} calls per bind.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    static final class CountingListener implements SmartKnife.MetricsListener {
+        long lookups;
+        long lookupNanos;
+        long binds;
+        long bindNanos;
+        long viewsResolved;
+
+        @Override public void onBinderLookup(Class<?> targetClass, boolean cached, long durationNanos) {
+            lookups++;
+            lookupNanos += durationNanos;
+        }
+
+        @Override public void onBind(Class<?> targetClass, long durationNanos, int viewsResolved,
+                                     int optionalViewsMissing) {
+            binds++;
+            bindNanos += durationNanos;
+            this.viewsResolved += viewsResolved;
+        }
+    }
+
+    @Param({ "false", "true" })
+    public boolean enabled;
+
+    private Targets.Fields10 target;
+    private View root;
+
+    @Setup
+    public void setUp() {
+        target = new Targets.Fields10();
+        root = ViewTrees.flat(10);
+        SmartKnife.setMetricsListener(enabled ? new CountingListener() : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SmartKnife.setMetricsListener(null);
+    }
+
+    @Benchmark
+    public Object bind() {
+        SmartKnife.bind(target, root);
+        return target;
+    }
+}
@@ -0,0 +1,136 @@
+package com.laomo.inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles a {@link SyntheticModule} in-process with {@link SmartKnifeProcessor} and prints the
+ * time and heap used by every processing round, and the total compile time.
+ * <p>
+ * Arguments: {@code [classCount [maxFields [depth]]] [-Akey=value ...]}. The {@code -A} options
+ * are passed on to the processor, e.g. {@code -Asmartknife.singlePass=true}. Runs with and
+ * without {@code -Asmartknife.bytecode=true} compare the total compile time of class file and
+ * source binders.
+ */
+public final class ProcessorBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        List<Integer> sizes = new ArrayList<Integer>();
+        List<String> processorOptions = new ArrayList<String>();
+        for (String arg : args) {
+            if (arg.startsWith("-A")) {
+                processorOptions.add(arg);
+            } else {
+                sizes.add(Integer.parseInt(arg));
+            }
+        }
+        int classCount = sizes.size() > 0 ? sizes.get(0) : 10000;
+        int maxFields = sizes.size() > 1 ? sizes.get(1) : 50;
+        int depth = sizes.size() > 2 ? sizes.get(2) : 5;
+
+        File dir = createTempDir();
+        File sourceDir = new File(dir, "src");
+        File generatedDir = new File(dir, "generated");
+        File classesDir = new File(dir, "classes");
+        if (!generatedDir.mkdirs() || !classesDir.mkdirs()) {
+            throw new IOException("Unable to create output directories in " + dir);
+        }
+        List<File> sources = new SyntheticModule(classCount, maxFields, depth, 42L).write(sourceDir);
+        System.out.printf("Generated %d classes (1-%d fields, depth %d) in %s%n",
+                classCount, maxFields, depth, sourceDir);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        List<String> options = new ArrayList<String>();
+        Collections.addAll(options,
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDir.getPath(),
+                "-s", generatedDir.getPath());
+        options.addAll(processorOptions);
+        Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+        TimingProcessor processor = new TimingProcessor(new SmartKnifeProcessor());
+        task.setProcessors(Collections.singletonList(processor));
+
+        long start = System.nanoTime();
+        boolean success = task.call();
+        long totalMillis = (System.nanoTime() - start) / 1000000;
+        fileManager.close();
+
+        System.out.printf("Compilation %s in %d ms, %d ms of it in the processor.%n",
+                success ? "succeeded" : "FAILED", totalMillis, processor.totalMillis);
+        if (!success) {
+            System.exit(1);
+        }
+    }
+
+    private static File createTempDir() throws IOException {
+        File file = File.createTempFile("smartknife-processor", "");
+        if (!file.delete() || !file.mkdir()) {
+            throw new IOException("Unable to create " + file);
+        }
+        return file;
+    }
+
+    /** Measures every round of the processor it wraps. */
+    private static final class TimingProcessor implements Processor {
+        private final Processor delegate;
+        private int round;
+        long totalMillis;
+
+        TimingProcessor(Processor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override public void init(ProcessingEnvironment processingEnv) {
+            delegate.init(processingEnv);
+        }
+
+        @Override public boolean process(Set<? extends TypeElement> annotations,
+                                         RoundEnvironment roundEnv) {
+            Runtime runtime = Runtime.getRuntime();
+            long start = System.nanoTime();
+            boolean claimed = delegate.process(annotations, roundEnv);
+            long millis = (System.nanoTime() - start) / 1000000;
+            totalMillis += millis;
+            long usedMegabytes = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+            System.out.printf("Round %d: %d ms, %d MB heap used%n", ++round, millis, usedMegabytes);
+            return claimed;
+        }
+
+        @Override public Iterable<? extends Completion> getCompletions(Element element,
+                AnnotationMirror annotation, ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.laomo.inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles the same {@link SyntheticModule} with {@link SmartKnifeProcessor} three times: as is,
+ * with the sources passed in a shuffled order, and with {@code -Asmartknife.parallel=true}. It
+ * checks that every generated source and every binder class file, whether javac compiled it or
+ * the processor wrote it with {@code smartknife.bytecode}, is byte-identical across the three.
+ * Differences defeat the build cache of anything compiled against the binders.
+ * <p>
+ * Arguments: {@code [classCount [maxFields [depth]]] [-Akey=value ...]}, as for
+ * {@link ProcessorBenchmark}. Exits with status 1 if the outputs differ.
+ */
+public final class ReproducibilityCheck {
+
+    public static void main(String[] args) throws IOException {
+        List<Integer> sizes = new ArrayList<Integer>();
+        List<String> processorOptions = new ArrayList<String>();
+        for (String arg : args) {
+            if (arg.startsWith("-A")) {
+                processorOptions.add(arg);
+            } else {
+                sizes.add(Integer.parseInt(arg));
+            }
+        }
+        int classCount = sizes.size() > 0 ? sizes.get(0) : 500;
+        int maxFields = sizes.size() > 1 ? sizes.get(1) : 20;
+        int depth = sizes.size() > 2 ? sizes.get(2) : 3;
+
+        File dir = createTempDir();
+        List<File> sources = new SyntheticModule(classCount, maxFields, depth, 42L)
+                .write(new File(dir, "src"));
+        List<File> shuffled = new ArrayList<File>(sources);
+        Collections.shuffle(shuffled, new Random(7L));
+
+        File first = compile(sources, new File(dir, "first"), processorOptions);
+        File reordered = compile(shuffled, new File(dir, "reordered"), processorOptions);
+        List<String> parallelOptions = new ArrayList<String>(processorOptions);
+        parallelOptions.add("-Asmartknife.parallel=true");
+        File parallel = compile(sources, new File(dir, "parallel"), parallelOptions);
+
+        int differences = compare("shuffled sources", first, reordered)
+                + compare("parallel generation", first, parallel);
+        if (differences > 0) {
+            System.exit(1);
+        }
+    }
+
+    /** Prints and returns the number of files that are not the same in both directories. */
+    private static int compare(String what, File expected, File actual) throws IOException {
+        TreeSet<String> paths = new TreeSet<String>();
+        listBinderFiles(expected, paths);
+        listBinderFiles(actual, paths);
+        int differences = 0;
+        for (String path : paths) {
+            File a = new File(expected, path);
+            File b = new File(actual, path);
+            if (!a.isFile() || !b.isFile()) {
+                System.out.println("Only generated once: " + path);
+                differences++;
+            } else if (!Arrays.equals(read(a), read(b))) {
+                System.out.println("Differs: " + path);
+                differences++;
+            }
+        }
+        System.out.printf("%s: %d generated files compared, %d differ.%n", what, paths.size(), differences);
+        return differences;
+    }
+
+    /**
+     * Compiles {@code sources} in the given order and returns the directory that holds the
+     * {@code generated} and the {@code classes} directory.
+     */
+    private static File compile(List<File> sources, File dir, List<String> processorOptions)
+            throws IOException {
+        File generatedDir = new File(dir, "generated");
+        File classesDir = new File(dir, "classes");
+        if (!generatedDir.mkdirs() || !classesDir.mkdirs()) {
+            throw new IOException("Unable to create output directories in " + dir);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        List<String> options = new ArrayList<String>();
+        Collections.addAll(options,
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", classesDir.getPath(),
+                "-s", generatedDir.getPath());
+        options.addAll(processorOptions);
+        Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sources);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+        task.setProcessors(Collections.singletonList(new SmartKnifeProcessor()));
+        boolean success = task.call();
+        fileManager.close();
+        if (!success) {
+            throw new IOException("Compilation failed in " + dir);
+        }
+        return dir;
+    }
+
+    /** Adds the generated sources and the binder class files of a compilation {@code dir} to {@code paths}. */
+    private static void listBinderFiles(File dir, TreeSet<String> paths) {
+        listFiles(new File(dir, "generated"), "generated" + File.separator, paths);
+        TreeSet<String> classes = new TreeSet<String>();
+        listFiles(new File(dir, "classes"), "classes" + File.separator, classes);
+        for (String path : classes) {
+            if (path.contains("$$")) {
+                paths.add(path);
+            }
+        }
+    }
+
+    private static void listFiles(File dir, String prefix, TreeSet<String> paths) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String path = prefix + file.getName();
+            if (file.isDirectory()) {
+                listFiles(file, path + File.separator, paths);
+            } else {
+                paths.add(path);
+            }
+        }
+    }
+
+    private static byte[] read(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            byte[] bytes = new byte[(int) in.length()];
+            in.readFully(bytes);
+            return bytes;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static File createTempDir() throws IOException {
+        File file = File.createTempFile("smartknife-reproducibility", "");
+        if (!file.delete() || !file.mkdir()) {
+            throw new IOException("Unable to create " + file);
+        }
+        return file;
+    }
+}
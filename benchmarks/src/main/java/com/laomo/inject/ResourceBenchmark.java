@@ -0,0 +1,59 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding the resources of a view holder through {@link ResourceCache} against fetching them from
+ * {@link Resources} every time. The stand-in resources are much cheaper than the framework's, so
+ * {@code direct} is a lower bound.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResourceBenchmark {
+
+    public static class Holder {
+        @StringInject(id = 1) String title;
+        @ColorInject(id = 2) int color;
+        @DimenInject(id = 3) int padding;
+        @DrawableInject(id = 4) Drawable icon;
+    }
+
+    private View root;
+
+    @Setup
+    public void setUp() {
+        root = new View(new Context());
+    }
+
+    @Benchmark
+    public Object bind() {
+        Holder holder = new Holder();
+        SmartKnife.bind(holder, root);
+        return holder;
+    }
+
+    @Benchmark
+    public Object direct() {
+        Holder holder = new Holder();
+        Resources resources = root.getContext().getResources();
+        holder.title = resources.getString(1);
+        holder.color = resources.getColor(2);
+        holder.padding = resources.getDimensionPixelSize(3);
+        holder.icon = resources.getDrawable(4);
+        return holder;
+    }
+}
@@ -0,0 +1,195 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+/** Binding targets with a growing number of fields. Field {@code vN} is bound to ID {@code N}. */
+final class Targets {
+
+    static final int MAX_FIELDS = 100;
+
+    static Class<?> withFields(int fieldCount) {
+        switch (fieldCount) {
+            case 1: return Fields1.class;
+            case 10: return Fields10.class;
+            case 50: return Fields50.class;
+            case 100: return Fields100.class;
+            default: throw new IllegalArgumentException("No target with " + fieldCount + " fields");
+        }
+    }
+
+    public static class Fields1 {
+        @ViewInject(id = 1) View v1;
+    }
+
+    public static class Fields10 {
+        @ViewInject(id = 1) View v1;
+        @ViewInject(id = 2) View v2;
+        @ViewInject(id = 3) View v3;
+        @ViewInject(id = 4) View v4;
+        @ViewInject(id = 5) View v5;
+        @ViewInject(id = 6) View v6;
+        @ViewInject(id = 7) View v7;
+        @ViewInject(id = 8) View v8;
+        @ViewInject(id = 9) View v9;
+        @ViewInject(id = 10) View v10;
+    }
+
+    public static class Fields50 {
+        @ViewInject(id = 1) View v1;
+        @ViewInject(id = 2) View v2;
+        @ViewInject(id = 3) View v3;
+        @ViewInject(id = 4) View v4;
+        @ViewInject(id = 5) View v5;
+        @ViewInject(id = 6) View v6;
+        @ViewInject(id = 7) View v7;
+        @ViewInject(id = 8) View v8;
+        @ViewInject(id = 9) View v9;
+        @ViewInject(id = 10) View v10;
+        @ViewInject(id = 11) View v11;
+        @ViewInject(id = 12) View v12;
+        @ViewInject(id = 13) View v13;
+        @ViewInject(id = 14) View v14;
+        @ViewInject(id = 15) View v15;
+        @ViewInject(id = 16) View v16;
+        @ViewInject(id = 17) View v17;
+        @ViewInject(id = 18) View v18;
+        @ViewInject(id = 19) View v19;
+        @ViewInject(id = 20) View v20;
+        @ViewInject(id = 21) View v21;
+        @ViewInject(id = 22) View v22;
+        @ViewInject(id = 23) View v23;
+        @ViewInject(id = 24) View v24;
+        @ViewInject(id = 25) View v25;
+        @ViewInject(id = 26) View v26;
+        @ViewInject(id = 27) View v27;
+        @ViewInject(id = 28) View v28;
+        @ViewInject(id = 29) View v29;
+        @ViewInject(id = 30) View v30;
+        @ViewInject(id = 31) View v31;
+        @ViewInject(id = 32) View v32;
+        @ViewInject(id = 33) View v33;
+        @ViewInject(id = 34) View v34;
+        @ViewInject(id = 35) View v35;
+        @ViewInject(id = 36) View v36;
+        @ViewInject(id = 37) View v37;
+        @ViewInject(id = 38) View v38;
+        @ViewInject(id = 39) View v39;
+        @ViewInject(id = 40) View v40;
+        @ViewInject(id = 41) View v41;
+        @ViewInject(id = 42) View v42;
+        @ViewInject(id = 43) View v43;
+        @ViewInject(id = 44) View v44;
+        @ViewInject(id = 45) View v45;
+        @ViewInject(id = 46) View v46;
+        @ViewInject(id = 47) View v47;
+        @ViewInject(id = 48) View v48;
+        @ViewInject(id = 49) View v49;
+        @ViewInject(id = 50) View v50;
+    }
+
+    public static class Fields100 {
+        @ViewInject(id = 1) View v1;
+        @ViewInject(id = 2) View v2;
+        @ViewInject(id = 3) View v3;
+        @ViewInject(id = 4) View v4;
+        @ViewInject(id = 5) View v5;
+        @ViewInject(id = 6) View v6;
+        @ViewInject(id = 7) View v7;
+        @ViewInject(id = 8) View v8;
+        @ViewInject(id = 9) View v9;
+        @ViewInject(id = 10) View v10;
+        @ViewInject(id = 11) View v11;
+        @ViewInject(id = 12) View v12;
+        @ViewInject(id = 13) View v13;
+        @ViewInject(id = 14) View v14;
+        @ViewInject(id = 15) View v15;
+        @ViewInject(id = 16) View v16;
+        @ViewInject(id = 17) View v17;
+        @ViewInject(id = 18) View v18;
+        @ViewInject(id = 19) View v19;
+        @ViewInject(id = 20) View v20;
+        @ViewInject(id = 21) View v21;
+        @ViewInject(id = 22) View v22;
+        @ViewInject(id = 23) View v23;
+        @ViewInject(id = 24) View v24;
+        @ViewInject(id = 25) View v25;
+        @ViewInject(id = 26) View v26;
+        @ViewInject(id = 27) View v27;
+        @ViewInject(id = 28) View v28;
+        @ViewInject(id = 29) View v29;
+        @ViewInject(id = 30) View v30;
+        @ViewInject(id = 31) View v31;
+        @ViewInject(id = 32) View v32;
+        @ViewInject(id = 33) View v33;
+        @ViewInject(id = 34) View v34;
+        @ViewInject(id = 35) View v35;
+        @ViewInject(id = 36) View v36;
+        @ViewInject(id = 37) View v37;
+        @ViewInject(id = 38) View v38;
+        @ViewInject(id = 39) View v39;
+        @ViewInject(id = 40) View v40;
+        @ViewInject(id = 41) View v41;
+        @ViewInject(id = 42) View v42;
+        @ViewInject(id = 43) View v43;
+        @ViewInject(id = 44) View v44;
+        @ViewInject(id = 45) View v45;
+        @ViewInject(id = 46) View v46;
+        @ViewInject(id = 47) View v47;
+        @ViewInject(id = 48) View v48;
+        @ViewInject(id = 49) View v49;
+        @ViewInject(id = 50) View v50;
+        @ViewInject(id = 51) View v51;
+        @ViewInject(id = 52) View v52;
+        @ViewInject(id = 53) View v53;
+        @ViewInject(id = 54) View v54;
+        @ViewInject(id = 55) View v55;
+        @ViewInject(id = 56) View v56;
+        @ViewInject(id = 57) View v57;
+        @ViewInject(id = 58) View v58;
+        @ViewInject(id = 59) View v59;
+        @ViewInject(id = 60) View v60;
+        @ViewInject(id = 61) View v61;
+        @ViewInject(id = 62) View v62;
+        @ViewInject(id = 63) View v63;
+        @ViewInject(id = 64) View v64;
+        @ViewInject(id = 65) View v65;
+        @ViewInject(id = 66) View v66;
+        @ViewInject(id = 67) View v67;
+        @ViewInject(id = 68) View v68;
+        @ViewInject(id = 69) View v69;
+        @ViewInject(id = 70) View v70;
+        @ViewInject(id = 71) View v71;
+        @ViewInject(id = 72) View v72;
+        @ViewInject(id = 73) View v73;
+        @ViewInject(id = 74) View v74;
+        @ViewInject(id = 75) View v75;
+        @ViewInject(id = 76) View v76;
+        @ViewInject(id = 77) View v77;
+        @ViewInject(id = 78) View v78;
+        @ViewInject(id = 79) View v79;
+        @ViewInject(id = 80) View v80;
+        @ViewInject(id = 81) View v81;
+        @ViewInject(id = 82) View v82;
+        @ViewInject(id = 83) View v83;
+        @ViewInject(id = 84) View v84;
+        @ViewInject(id = 85) View v85;
+        @ViewInject(id = 86) View v86;
+        @ViewInject(id = 87) View v87;
+        @ViewInject(id = 88) View v88;
+        @ViewInject(id = 89) View v89;
+        @ViewInject(id = 90) View v90;
+        @ViewInject(id = 91) View v91;
+        @ViewInject(id = 92) View v92;
+        @ViewInject(id = 93) View v93;
+        @ViewInject(id = 94) View v94;
+        @ViewInject(id = 95) View v95;
+        @ViewInject(id = 96) View v96;
+        @ViewInject(id = 97) View v97;
+        @ViewInject(id = 98) View v98;
+        @ViewInject(id = 99) View v99;
+        @ViewInject(id = 100) View v100;
+    }
+
+    private Targets() {
+    }
+}
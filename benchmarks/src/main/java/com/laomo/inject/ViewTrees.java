@@ -0,0 +1,62 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/** Headless view trees holding views with IDs {@code 1..count}, plus unnamed filler views. */
+final class ViewTrees {
+
+    private static final int FILLER_PER_VIEW = 3;
+
+    static ViewGroup create(String shape, int count) {
+        if ("flat".equals(shape)) {
+            return flat(count);
+        }
+        if ("deep".equals(shape)) {
+            return deep(count);
+        }
+        throw new IllegalArgumentException("Unknown tree shape " + shape);
+    }
+
+    /** All views are direct children of the root. */
+    static ViewGroup flat(int count) {
+        Context context = new Context();
+        ViewGroup root = new ViewGroup(context);
+        for (int id = 1; id <= count; id++) {
+            addFiller(root, context);
+            root.addView(named(context, id));
+        }
+        return root;
+    }
+
+    /** Every view sits one level deeper than the previous one. */
+    static ViewGroup deep(int count) {
+        Context context = new Context();
+        ViewGroup root = new ViewGroup(context);
+        ViewGroup parent = root;
+        for (int id = 1; id <= count; id++) {
+            addFiller(parent, context);
+            parent.addView(named(context, id));
+            ViewGroup child = new ViewGroup(context);
+            parent.addView(child);
+            parent = child;
+        }
+        return root;
+    }
+
+    private static View named(Context context, int id) {
+        View view = new View(context);
+        view.setId(id);
+        return view;
+    }
+
+    private static void addFiller(ViewGroup parent, Context context) {
+        for (int i = 0; i < FILLER_PER_VIEW; i++) {
+            parent.addView(new View(context));
+        }
+    }
+
+    private ViewTrees() {
+    }
+}
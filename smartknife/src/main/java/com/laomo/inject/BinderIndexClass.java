@@ -0,0 +1,121 @@
+package com.laomo.inject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+final class BinderIndexClass {
+
+    private String packageName;
+    private String className;
+
+    private List<BindingClass> bindingClasses = new ArrayList<>();
+    /** Classes without bindings of their own, each followed by the binder it inherits. */
+    private List<String> subclasses = new ArrayList<>();
+    /** Package binders with targets the index cannot see, which their own index creates binders for. */
+    private Set<String> packageBinders = new LinkedHashSet<>();
+
+    public BinderIndexClass(String indexClassFullName) {
+        int lastDot = indexClassFullName.lastIndexOf('.');
+        this.packageName = lastDot == -1 ? "" : indexClassFullName.substring(0, lastDot);
+        this.className = indexClassFullName.substring(lastDot + 1);
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getIndexClassFullName() {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    public void addBindingClass(BindingClass bindingClass) {
+        bindingClasses.add(bindingClass);
+    }
+
+    public boolean contains(BindingClass bindingClass) {
+        return bindingClasses.contains(bindingClass);
+    }
+
+    /** Ask the index of {@code packageBinderClassName} for the binders of its targets. */
+    public void addPackageBinder(String packageBinderClassName) {
+        packageBinders.add(packageBinderClassName);
+    }
+
+    /** Index {@code className} under the binder that {@code newBinderExpression} creates. */
+    public void addSubclass(String className, String newBinderExpression) {
+        subclasses.add(className);
+        subclasses.add(newBinderExpression);
+    }
+
+    public String generateJavaCode() {
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("// Generated code from SmartKnife. Do not modify!\n");
+        if (!packageName.isEmpty()) {
+            builder.append("package ").append(packageName).append(";\n\n");
+        }
+        if (!packageBinders.isEmpty()) {
+            builder.append("import java.util.ArrayList;\n")
+                    .append("import java.util.Arrays;\n")
+                    .append("import java.util.List;\n\n");
+        }
+        builder.append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.BinderIndex;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.ViewBinder;\n\n")
+
+                .append("public final class ").append(className).append(" implements BinderIndex {\n\n");
+
+        emitNewBinderMethod(builder);
+        builder.append('\n');
+        emitTargetClassesMethod(builder);
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    private void emitNewBinderMethod(StringBuilder builder) {
+        builder.append("  @SuppressWarnings(\"unchecked\") // Binders only ever receive targets of their own class.\n")
+                .append("  @Override public ViewBinder<Object> newBinder(Class<?> cls) {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("    if (cls == ").append(bindingClass.getTargetClassFullName()).append(".class) {\n")
+                    .append("      return ").append(bindingClass.getNewBinderExpression()).append(";\n")
+                    .append("    }\n");
+        }
+        for (int i = 0; i < subclasses.size(); i += 2) {
+            builder.append("    if (cls == ").append(subclasses.get(i)).append(".class) {\n")
+                    .append("      return ").append(subclasses.get(i + 1)).append(";\n")
+                    .append("    }\n");
+        }
+        if (!packageBinders.isEmpty()) {
+            builder.append("    ViewBinder<Object> binder;\n");
+        }
+        for (String packageBinder : packageBinders) {
+            builder.append("    binder = new ").append(packageBinder).append('.')
+                    .append(SmartKnifeProcessor.PACKAGE_BINDER_INDEX).append("().newBinder(cls);\n")
+                    .append("    if (binder != null) {\n")
+                    .append("      return binder;\n")
+                    .append("    }\n");
+        }
+        builder.append("    return null;\n")
+                .append("  }\n");
+    }
+
+    private void emitTargetClassesMethod(StringBuilder builder) {
+        builder.append("  @Override public Class<?>[] targetClasses() {\n")
+                .append(packageBinders.isEmpty() ? "    return" : "    Class<?>[] classes =")
+                .append(" new Class<?>[] {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("        ").append(bindingClass.getTargetClassFullName()).append(".class,\n");
+        }
+        builder.append("    };\n");
+        if (!packageBinders.isEmpty()) {
+            builder.append("    List<Class<?>> all = new ArrayList<Class<?>>(Arrays.asList(classes));\n");
+            for (String packageBinder : packageBinders) {
+                builder.append("    all.addAll(Arrays.asList(new ").append(packageBinder).append('.')
+                        .append(SmartKnifeProcessor.PACKAGE_BINDER_INDEX).append("().targetClasses()));\n");
+            }
+            builder.append("    return all.toArray(new Class<?>[all.size()]);\n");
+        }
+        builder.append("  }\n");
+    }
+}
@@ -1,17 +1,56 @@
 package com.laomo.inject;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.lang.model.element.TypeElement;
 
 final class BindingClass {
 
+    // Internal names and descriptors used by the class files of generateClassFiles().
+    private static final String SMART_KNIFE = SmartKnife.class.getName().replace('.', '/');
+    private static final String FINDER = SMART_KNIFE + "$Finder";
+    private static final String UNBINDER = SMART_KNIFE + "$Unbinder";
+    private static final String BIND_COUNTS = SMART_KNIFE + "$BindCounts";
+    private static final String VIEW_BINDER = SMART_KNIFE + "$ViewBinder";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String VIEW = "android/view/View";
+    private static final String VIEW_LOOKUP = ViewLookup.class.getName().replace('.', '/');
+    private static final String CLASS_CAST_EXCEPTION = "java/lang/ClassCastException";
+    private static final String ILLEGAL_STATE_EXCEPTION = "java/lang/IllegalStateException";
+    private static final String MISSING_VIEW_DESCRIPTOR =
+            "(Landroid/content/Context;ILjava/lang/String;)L" + ILLEGAL_STATE_EXCEPTION + ";";
+    private static final String WRONG_TYPE_DESCRIPTOR =
+            "(L" + VIEW + ";ILjava/lang/String;L" + CLASS_CAST_EXCEPTION + ";)L" + ILLEGAL_STATE_EXCEPTION + ";";
+
     private String packageName;
     private String targetClassName;
     private String binderClassName;
 
-    private Map<Integer, ViewBinding> idViewMap = new HashMap<>();
+    /** In declaration order, so the generated code does not depend on hashing. */
+    private List<ViewBinding> viewBindings = new ArrayList<>();
+    private List<ClickBinding> clickBindings = new ArrayList<>();
+    private List<ViewsBinding> viewsBindings = new ArrayList<>();
+    private List<ResourceBinding> resourceBindings = new ArrayList<>();
+
+    /** Resolve all IDs with one traversal through {@code Finder.findViews}. */
+    private boolean singlePass;
+    /** Binder of the nearest superclass with bindings, or {@code null}. */
+    private String parentBinderClassName;
+    /** Class name of that superclass if its binder is a package binder, or {@code null}. */
+    private String parentClassName;
+    /** Package binder holding the bind methods of this target, or {@code null} for a class of its own. */
+    private String packageBinderClassName;
+    /** Which of the targets of the package binder this is. */
+    private int packageBinderIndex;
+    /** Every bound ID was verified against the layouts, so skip the null and type checks. */
+    private boolean trusted;
+    /** Wrap binding and unbinding in {@code android.os.Trace} sections named after the target. */
+    private boolean trace;
 
     public BindingClass(String packageName, String className) {
         this.packageName = packageName;
@@ -19,14 +58,168 @@ final class BindingClass {
         this.binderClassName = className + SmartKnifeProcessor.SUFFIX;
     }
 
-    public void putViewInfo(int id, ViewBinding viewBinding) {
-        idViewMap.put(id, viewBinding);
+    public void addViewBinding(ViewBinding viewBinding) {
+        viewBindings.add(viewBinding);
+    }
+
+    public void addViewsBinding(ViewsBinding viewsBinding) {
+        viewsBindings.add(viewsBinding);
+    }
+
+    public void addResourceBinding(ResourceBinding resourceBinding) {
+        resourceBindings.add(resourceBinding);
+    }
+
+    public void addClickBinding(ClickBinding clickBinding) {
+        clickBindings.add(clickBinding);
+    }
+
+    /** The click method bound to {@code id}, or {@code null}. */
+    public ClickBinding getClickBinding(int id) {
+        for (ClickBinding clickBinding : clickBindings) {
+            for (int clickId : clickBinding.getIds()) {
+                if (clickId == id) {
+                    return clickBinding;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** The field bound to {@code id} with {@code @ViewInject(click = true)}, or {@code null}. */
+    public ViewBinding getClickViewBinding(int id) {
+        for (ViewBinding viewBinding : viewBindings) {
+            if (viewBinding.getId() == id && viewBinding.isClick()) {
+                return viewBinding;
+            }
+        }
+        return null;
+    }
+
+    public void setSinglePass(boolean singlePass) {
+        this.singlePass = singlePass;
+    }
+
+    public void setTrusted(boolean trusted) {
+        this.trusted = trusted;
+    }
+
+    public void setTrace(boolean trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Every ID resolved at bind time, with the erased types its view is assigned to. IDs that only
+     * get a click listener map to {@code android.view.View}.
+     */
+    public Map<Integer, Set<String>> getViewTypes() {
+        Map<Integer, Set<String>> viewTypes = new LinkedHashMap<>();
+        for (ViewBinding viewBinding : viewBindings) {
+            if (!viewBinding.isLazy()) {
+                addViewType(viewTypes, viewBinding.getId(), viewBinding.getType());
+            }
+        }
+        for (ViewsBinding viewsBinding : viewsBindings) {
+            for (int id : viewsBinding.getIds()) {
+                addViewType(viewTypes, id, viewsBinding.getType());
+            }
+        }
+        for (ClickBinding clickBinding : clickBindings) {
+            for (int id : clickBinding.getIds()) {
+                addViewType(viewTypes, id, SmartKnifeProcessor.VIEW_TYPE);
+            }
+        }
+        return viewTypes;
+    }
+
+    private static void addViewType(Map<Integer, Set<String>> viewTypes, int id, String type) {
+        Set<String> types = viewTypes.get(id);
+        if (types == null) {
+            types = new LinkedHashSet<>();
+            viewTypes.put(id, types);
+        }
+        types.add(type);
+    }
+
+    public void setParentBinder(String parentBinderClassName) {
+        this.parentBinderClassName = parentBinderClassName;
+    }
+
+    /** Chain to the bind methods of {@code parentClassName} in {@code packageBinderClassName}. */
+    public void setParentPackageBinder(String packageBinderClassName, String parentClassName) {
+        this.parentBinderClassName = packageBinderClassName;
+        this.parentClassName = parentClassName;
+    }
+
+    /**
+     * Generate this target's bind methods into {@code packageBinderClassName}, see
+     * {@link PackageBinderClass}, instead of into a binder class of its own.
+     */
+    public void setPackageBinder(String packageBinderClassName, int index) {
+        this.packageBinderClassName = packageBinderClassName;
+        this.packageBinderIndex = index;
+    }
+
+    public String getPackageBinderClassName() {
+        return packageBinderClassName;
+    }
+
+    public int getPackageBinderIndex() {
+        return packageBinderIndex;
+    }
+
+    /** The class name of the target within its package, e.g. {@code Outer$Inner}. */
+    public String getClassName() {
+        return targetClassName;
+    }
+
+    public boolean hasResourceBindings() {
+        return !resourceBindings.isEmpty();
+    }
+
+    /** Expression that creates the binder of this target, for the binder index. */
+    public String getNewBinderExpression() {
+        if (packageBinderClassName != null) {
+            return "new " + packageBinderClassName + "(" + packageBinderIndex + ")";
+        }
+        return "new " + getBinderClassFullName() + "()";
+    }
+
+    /** Name of the static bind methods of the target {@code className} in a package binder. */
+    static String getPackageBindMethodName(String className) {
+        return "bind" + className;
+    }
+
+    private String getBindMethodName() {
+        return packageBinderClassName != null ? getPackageBindMethodName(targetClassName) : "bind";
+    }
+
+    private String getIdsFieldName() {
+        return packageBinderClassName != null ? "IDS_" + targetClassName : "IDS";
+    }
+
+    /** {@code method} of the parent binder, or of the parent's members in its package binder. */
+    private String getParentMethod(String method) {
+        return parentBinderClassName + "." + method + (parentClassName != null ? parentClassName : "");
+    }
+
+    /** Whether the binder class extends the binder class of the parent, rather than calling its package binder. */
+    private boolean extendsParentBinder() {
+        return parentBinderClassName != null && parentClassName == null;
+    }
+
+    public String getPackageName() {
+        return packageName;
     }
 
     public String getBinderClassFullName() {
         return packageName + "." + binderClassName;
     }
 
+    public String getTargetClassFullName() {
+        return packageName + "." + getTargetClassName();
+    }
+
     private String getTargetClassName(){
         return targetClassName.replace("$", ".");
     }
@@ -37,42 +230,172 @@ final class BindingClass {
         builder.append("// Generated code from SmartKnife. Do not modify!\n")
                 .append("package ").append(packageName).append(";\n\n")
 
+                .append("import android.app.Activity;\n")
+                .append("import android.app.Dialog;\n")
+                .append("import android.os.SystemClock;\n")
                 .append("import android.view.View;\n")
                 .append("import android.view.View.OnClickListener;\n")
+                .append("import android.widget.AdapterView;\n")
                 .append("import android.widget.AdapterView.OnItemClickListener;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.BindCounts;\n")
                 .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.Finder;\n")
-                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.ViewBinder;\n\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.Unbinder;\n");
+        if (!extendsParentBinder()) {
+            builder.append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.ViewBinder;\n");
+        }
+        if (!resourceBindings.isEmpty()) {
+            builder.append("import ").append(SmartKnife.class.getPackage().getName()).append(".ResourceCache;\n");
+        }
+        builder.append("import ").append(SmartKnife.class.getPackage().getName()).append(".ViewLookup;\n");
+        builder.append('\n');
 
-                .append("public class ").append(binderClassName)
-                .append("<T extends ").append(getTargetClassName()).append(">")
-                .append(" implements ViewBinder<T> {\n\n");
+        builder.append("public class ").append(binderClassName)
+                .append("<T extends ").append(getTargetClassName()).append(">");
+        if (extendsParentBinder()) {
+            builder.append(" extends ").append(parentBinderClassName).append("<T> {\n\n");
+        } else {
+            builder.append(" implements ViewBinder<T> {\n\n");
+        }
 
+        if (singlePass) {
+            emitIdsField(builder);
+            builder.append('\n');
+        }
         emitBindMethod(builder);
         builder.append('\n');
         emitUnbindMethod(builder);
+        builder.append('\n');
+        emitUnbinderClass(builder);
         builder.append("}\n");
         return builder.toString();
 
     }
 
 
+    /** Every ID the binder resolves at bind time, fields first, each one once. */
+    private List<Integer> getIds() {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (ViewBinding viewBinding : viewBindings) {
+            if (!viewBinding.isLazy()) {
+                ids.add(viewBinding.getId());
+            }
+        }
+        for (ViewsBinding viewsBinding : viewsBindings) {
+            for (int id : viewsBinding.getIds()) {
+                ids.add(id);
+            }
+        }
+        for (ClickBinding clickBinding : clickBindings) {
+            for (int id : clickBinding.getIds()) {
+                ids.add(id);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private void emitIdsField(StringBuilder builder) {
+        builder.append("  private static final int[] ").append(getIdsFieldName()).append(" = {");
+        boolean first = true;
+        for (Integer id : getIds()) {
+            builder.append(first ? " " : ", ").append(id);
+            first = false;
+        }
+        builder.append(" };\n");
+    }
+
     private void emitBindMethod(StringBuilder builder) {
         builder.append("  @Override ")
-                .append("public void bind(final Finder finder, final T target, Object source) {\n");
-        //TODO if has parent
-        //.append("    super.bind(finder, target, source);\n")
-        //.append("    View view;\n");
-
-        for (Integer key : idViewMap.keySet()) {
-            ViewBinding viewBinding = idViewMap.get(key);
-            builder.append("    target.").append(viewBinding.getName()).append(" = ");
-            if (viewBinding.isRequired()) {
-                builder.append("finder.findRequiredView(source, ");
-            } else {
-                builder.append("finder.findOptionalView(source, ");
+                .append("public Unbinder bind(Finder finder, T target, Object source) {\n");
+        // Chain through the instance method, so a ViewLookup source is shared with the parent.
+        String parentBind = null;
+        if (extendsParentBinder()) {
+            parentBind = "super.bind(finder, target, source)";
+        } else if (parentBinderClassName != null) {
+            parentBind = getParentMethod("bind") + "(finder, target, source)";
+        }
+        emitFinderBindBody(builder, parentBind);
+        builder.append("  }\n\n");
+
+        emitWindowBindMethod(builder, "Activity");
+        builder.append('\n');
+        emitWindowBindMethod(builder, "Dialog");
+        builder.append('\n');
+        emitStaticBindMethod(builder);
+    }
+
+    /** Resolves the views through {@code finder}, after {@code parentBind} if it is not {@code null}. */
+    private void emitFinderBindBody(StringBuilder builder, String parentBind) {
+        if (singlePass) {
+            int bodyStart = builder.length();
+            builder.append("    return ").append(getBindMethodName()).append("(target, ")
+                    .append(parentBind != null ? parentBind + ", " : "")
+                    .append("finder.findViews(source, ").append(getIdsFieldName())
+                    .append("), finder.getRoot(source));\n");
+            emitTraceSection(builder, bodyStart, "bind", "    ");
+        } else {
+            // Delegates to the static bind, which has the trace section.
+            builder.append("    return ").append(getBindMethodName())
+                    .append("(target, finder.getRoot(source), finder.getLookup(source));\n");
+        }
+    }
+
+    /**
+     * The static {@code bind(target, View source)}, and the {@code bind(target, source, lookup)}
+     * that does the actual binding and resolves IDs through {@code lookup} if it is not null.
+     */
+    private void emitStaticBindMethod(StringBuilder builder) {
+        boolean hasParent = parentBinderClassName != null;
+        String bind = getBindMethodName();
+        String targetParameter = (clickBindings.isEmpty() ? "" : "final ") + getTargetClassName() + " target";
+        builder.append("  public static Unbinder ").append(bind).append('(').append(getTargetClassName())
+                .append(" target, View source) {\n")
+                .append("    return ").append(bind).append("(target, source, null);\n")
+                .append("  }\n\n")
+                .append("  public static Unbinder ").append(bind).append('(').append(targetParameter)
+                .append(", View source, ViewLookup lookup) {\n");
+        int bodyStart = builder.length();
+        if (singlePass) {
+            builder.append("    return ").append(bind).append("(target, ");
+            if (hasParent) {
+                builder.append(getParentMethod("bind")).append("(target, source, lookup), ");
             }
-            builder.append(viewBinding.getId()).append(", \"")
-                    .append(viewBinding.getName()).append("\");\n");
+            builder.append("(lookup != null ? lookup : new ViewLookup(source)).findViewsById(")
+                    .append(getIdsFieldName()).append("), source);\n");
+            emitTraceSection(builder, bodyStart, "bind", "    ");
+            builder.append("  }\n\n")
+                    .append("  private static Unbinder ").append(bind).append('(').append(targetParameter)
+                    .append(hasParent ? ", Unbinder parentUnbinder" : "")
+                    .append(", View[] views, View source) {\n");
+        } else if (hasParent) {
+            builder.append("    Unbinder parentUnbinder = ").append(getParentMethod("bind"))
+                    .append("(target, source, lookup);\n");
+        }
+        if (packageBinderClassName != null) {
+            builder.append("    ViewUnbinder unbinder = new ViewUnbinder(").append(packageBinderIndex)
+                    .append(", target, ").append(hasParent ? "parentUnbinder" : "null").append(", ")
+                    .append(getListenerViewIds().size()).append(");\n");
+        } else {
+            builder.append("    ViewUnbinder unbinder = new ViewUnbinder(target")
+                    .append(hasParent ? ", parentUnbinder" : "").append(");\n");
+        }
+        builder.append("    View view;\n");
+        if (!resourceBindings.isEmpty()) {
+            emitResourceAssignments(builder);
+        }
+        int lookups = countLookups(false);
+        boolean hasOptional = countLookups(true) > 0;
+        if (hasOptional) {
+            builder.append("    int missing = 0;\n");
+        }
+
+        List<Integer> ids = getIds();
+        for (ViewBinding viewBinding : viewBindings) {
+            if (viewBinding.isLazy()) {
+                emitLazyViewAssignment(builder, viewBinding);
+                continue;
+            }
+            emitFindView(builder, ids, viewBinding.getId());
+            emitViewAssignment(builder, viewBinding);
             if (viewBinding.isClick()) {
                 builder.append("    target.").append(viewBinding.getName())
                         .append(".setOnClickListener(target);\n");
@@ -81,18 +404,786 @@ final class BindingClass {
                 builder.append("    target.").append(viewBinding.getName())
                         .append(".setOnItemClickListener(target);\n");
             }
+            if (viewBinding.isClick() || viewBinding.isItemClick()) {
+                builder.append("    unbinder.").append(getListenerView(viewBinding.getId())).append(" = view;\n");
+            }
+        }
+        for (int i = 0; i < viewsBindings.size(); i++) {
+            emitViewsAssignment(builder, ids, viewsBindings.get(i), "views" + i);
+        }
+        if (!clickBindings.isEmpty()) {
+            emitClickListener(builder, ids);
+        }
+        if (hasOptional) {
+            builder.append("    unbinder.resolved += ").append(lookups).append(" - missing;\n")
+                    .append("    unbinder.missing += missing;\n");
+        } else if (lookups > 0) {
+            builder.append("    unbinder.resolved += ").append(lookups).append(";\n");
+        }
+        builder.append("    return unbinder;\n");
+        if (!singlePass) {
+            emitTraceSection(builder, bodyStart, "bind", "    ");
         }
         builder.append("  }\n");
     }
 
+    /**
+     * Wrap what was emitted since {@code bodyStart}, a method body indented by {@code indent}, in a
+     * trace section named after {@code action} and the target, if tracing is enabled.
+     */
+    private void emitTraceSection(StringBuilder builder, int bodyStart, String action, String indent) {
+        if (!trace) {
+            return;
+        }
+        String body = builder.substring(bodyStart);
+        builder.setLength(bodyStart);
+        String section = "SmartKnife " + action + " " + getTargetClassName();
+        // Trace rejects section names longer than 127 characters.
+        if (section.length() > 127) {
+            section = section.substring(0, 127);
+        }
+        builder.append(indent).append("Finder.beginSection(\"").append(section).append("\");\n")
+                .append(indent).append("try {\n");
+        for (String line : body.split("\n")) {
+            builder.append(line.isEmpty() ? "" : "  ").append(line).append('\n');
+        }
+        builder.append(indent).append("} finally {\n")
+                .append(indent).append("  Finder.endSection();\n")
+                .append(indent).append("}\n");
+    }
+
+    private void emitFindView(StringBuilder builder, List<Integer> ids, int id) {
+        if (singlePass) {
+            builder.append("    view = views[").append(ids.indexOf(id)).append("];\n");
+        } else {
+            builder.append("    view = Finder.findViewById(source, lookup, ").append(id).append(");\n");
+        }
+    }
+
+    /** One listener per target, dispatching on the clicked view's ID. */
+    private void emitClickListener(StringBuilder builder, List<Integer> ids) {
+        builder.append("    OnClickListener clickListener = new OnClickListener() {\n");
+        for (int i = 0; i < clickBindings.size(); i++) {
+            if (clickBindings.get(i).getDebounce() > 0) {
+                builder.append("      private long lastClick").append(i).append(";\n");
+            }
+        }
+        builder.append("      @Override public void onClick(View v) {\n")
+                .append("        switch (v.getId()) {\n");
+        for (int i = 0; i < clickBindings.size(); i++) {
+            ClickBinding clickBinding = clickBindings.get(i);
+            int[] clickIds = clickBinding.getIds();
+            for (int j = 0; j < clickIds.length; j++) {
+                builder.append("          case ").append(clickIds[j]).append(':');
+                boolean last = j == clickIds.length - 1;
+                builder.append(last && clickBinding.getDebounce() > 0 ? " {\n" : "\n");
+            }
+            String indent = "            ";
+            if (clickBinding.getDebounce() > 0) {
+                builder.append("            long now = SystemClock.uptimeMillis();\n")
+                        .append("            if (now - lastClick").append(i).append(" < ")
+                        .append(clickBinding.getDebounce()).append("L) {\n")
+                        .append("              return;\n")
+                        .append("            }\n")
+                        .append("            lastClick").append(i).append(" = now;\n");
+            }
+            builder.append(indent).append("target.").append(clickBinding.getName()).append('(');
+            if (clickBinding.getParameterType() != null) {
+                if (!SmartKnifeProcessor.VIEW_TYPE.equals(clickBinding.getParameterType())) {
+                    builder.append('(').append(clickBinding.getParameterType()).append(") ");
+                }
+                builder.append('v');
+            }
+            builder.append(");\n")
+                    .append(indent).append("break;\n");
+            if (clickBinding.getDebounce() > 0) {
+                builder.append("          }\n");
+            }
+        }
+        builder.append("        }\n")
+                .append("      }\n")
+                .append("    };\n");
+
+        for (ClickBinding clickBinding : clickBindings) {
+            String who = "\"method '" + clickBinding.getName() + "'\"";
+            for (int id : clickBinding.getIds()) {
+                emitFindView(builder, ids, id);
+                if (clickBinding.isRequired()) {
+                    emitRequiredCheck(builder, id, who);
+                    builder.append("    view.setOnClickListener(clickListener);\n")
+                            .append("    unbinder.").append(getListenerView(id)).append(" = view;\n");
+                } else {
+                    builder.append("    if (view != null) {\n")
+                            .append("      view.setOnClickListener(clickListener);\n")
+                            .append("      unbinder.").append(getListenerView(id)).append(" = view;\n")
+                            .append("    } else {\n")
+                            .append("      missing++;\n")
+                            .append("    }\n");
+                }
+            }
+        }
+    }
+
+    /** Activity and Dialog both resolve IDs through their window's decor view. */
+    private void emitWindowBindMethod(StringBuilder builder, String sourceType) {
+        builder.append("  public static Unbinder bind(").append(getTargetClassName()).append(" target, ")
+                .append(sourceType).append(" source) {\n")
+                .append("    return bind(target, source.getWindow().getDecorView());\n")
+                .append("  }\n");
+    }
+
+    private void emitViewAssignment(StringBuilder builder, ViewBinding viewBinding) {
+        int id = viewBinding.getId();
+        String who = "\"" + viewBinding.getName() + "\"";
+        if (viewBinding.isRequired()) {
+            emitRequiredCheck(builder, id, who);
+        } else {
+            emitCountMissing(builder);
+        }
+        emitCast(builder, "target." + viewBinding.getName(), viewBinding.getType(), id, who);
+    }
+
+    private void emitRequiredCheck(StringBuilder builder, int id, String who) {
+        if (trusted) {
+            return;
+        }
+        builder.append("    if (view == null) {\n")
+                .append("      throw Finder.missingView(source.getContext(), ").append(id)
+                .append(", ").append(who).append(");\n")
+                .append("    }\n");
+    }
+
+    private void emitCast(StringBuilder builder, String assignee, String type, int id, String who) {
+        if (SmartKnifeProcessor.VIEW_TYPE.equals(type)) {
+            builder.append("    ").append(assignee).append(" = view;\n");
+            return;
+        }
+        if (trusted) {
+            builder.append("    ").append(assignee).append(" = (").append(type).append(") view;\n");
+            return;
+        }
+        builder.append("    try {\n")
+                .append("      ").append(assignee).append(" = (").append(type).append(") view;\n")
+                .append("    } catch (ClassCastException e) {\n")
+                .append("      throw Finder.wrongType(view, ").append(id).append(", ").append(who)
+                .append(", e);\n")
+                .append("    }\n");
+    }
+
+    /** View lookups done at bind time, either all of them or only those of optional views. */
+    private int countLookups(boolean optionalOnly) {
+        int count = 0;
+        for (ViewBinding viewBinding : viewBindings) {
+            if (!viewBinding.isLazy() && (!optionalOnly || !viewBinding.isRequired())) {
+                count++;
+            }
+        }
+        for (ViewsBinding viewsBinding : viewsBindings) {
+            if (!optionalOnly || !viewsBinding.isRequired()) {
+                count += viewsBinding.getIds().length;
+            }
+        }
+        for (ClickBinding clickBinding : clickBindings) {
+            if (!optionalOnly || !clickBinding.isRequired()) {
+                count += clickBinding.getIds().length;
+            }
+        }
+        return count;
+    }
+
+    private void emitCountMissing(StringBuilder builder) {
+        builder.append("    if (view == null) {\n")
+                .append("      missing++;\n")
+                .append("    }\n");
+    }
+
+    /** Collects the views in a local array, which {@code arrayOf} or {@code listOf} then wraps. */
+    private void emitViewsAssignment(StringBuilder builder, List<Integer> ids, ViewsBinding viewsBinding,
+                                     String local) {
+        int[] viewIds = viewsBinding.getIds();
+        String who = "\"" + viewsBinding.getName() + "\"";
+        builder.append("    ").append(viewsBinding.getType()).append("[] ").append(local)
+                .append(" = new ").append(viewsBinding.getType()).append('[').append(viewIds.length)
+                .append("];\n");
+        for (int i = 0; i < viewIds.length; i++) {
+            int id = viewIds[i];
+            emitFindView(builder, ids, id);
+            if (viewsBinding.isRequired()) {
+                emitRequiredCheck(builder, id, who);
+            } else {
+                emitCountMissing(builder);
+            }
+            emitCast(builder, local + "[" + i + "]", viewsBinding.getType(), id, who);
+        }
+        builder.append("    target.").append(viewsBinding.getName()).append(" = Finder.")
+                .append(viewsBinding.isList() ? "listOf(" : "arrayOf(").append(local).append(");\n");
+    }
+
+    private void emitResourceAssignments(StringBuilder builder) {
+        builder.append("    ResourceCache resources = ResourceCache.get(source.getContext());\n");
+        for (ResourceBinding resourceBinding : resourceBindings) {
+            builder.append("    target.").append(resourceBinding.getName()).append(" = resources.")
+                    .append(resourceBinding.getMethod()).append('(').append(resourceBinding.getId())
+                    .append(");\n");
+        }
+    }
+
+    private void emitLazyViewAssignment(StringBuilder builder, ViewBinding viewBinding) {
+        builder.append("    target.").append(viewBinding.getName()).append(" = Finder.lazyView(source, ")
+                .append(viewBinding.getId()).append(", \"").append(viewBinding.getName()).append("\", ")
+                .append(viewBinding.isRequired()).append(", ").append(viewBinding.getType())
+                .append(".class);\n");
+    }
+
     private void emitUnbindMethod(StringBuilder builder) {
         builder.append("  @Override ")
                 .append("public void unbind(T target) {\n");
-        //TODO if has parent
-        //.append("    super.unbind(target);\n")
-        for (ViewBinding viewBinding : idViewMap.values()) {
+        int bodyStart = builder.length();
+        if (extendsParentBinder()) {
+            builder.append("    super.unbind(target);\n");
+        } else if (parentBinderClassName != null) {
+            builder.append("    ").append(getParentMethod("unbind")).append("(target);\n");
+        }
+        for (ViewBinding viewBinding : viewBindings) {
             builder.append("    target.").append(viewBinding.getName()).append(" = null;\n");
         }
+        for (ViewsBinding viewsBinding : viewsBindings) {
+            builder.append("    target.").append(viewsBinding.getName()).append(" = null;\n");
+        }
+        emitTraceSection(builder, bodyStart, "unbind", "    ");
         builder.append("  }\n");
     }
+
+    /**
+     * Remembers the views that got a listener, so they do not keep the target alive once it is
+     * unbound. Views without listeners are only referenced through the target's fields.
+     */
+    private void emitUnbinderClass(StringBuilder builder) {
+        boolean hasParent = parentBinderClassName != null;
+        builder.append("  static final class ViewUnbinder implements Unbinder, BindCounts {\n")
+                .append("    private ").append(getTargetClassName()).append(" target;\n");
+        if (hasParent) {
+            builder.append("    private Unbinder parent;\n");
+        }
+        builder.append("    int resolved;\n")
+                .append("    int missing;\n");
+        for (Integer id : getListenerViewIds()) {
+            builder.append("    View view").append(id).append(";\n");
+        }
+        builder.append('\n')
+                .append("    ViewUnbinder(").append(getTargetClassName()).append(" target")
+                .append(hasParent ? ", Unbinder parent" : "").append(") {\n")
+                .append("      this.target = target;\n");
+        if (hasParent) {
+            builder.append("      this.parent = parent;\n")
+                    .append("      resolved = ((BindCounts) parent).viewsResolved();\n")
+                    .append("      missing = ((BindCounts) parent).optionalViewsMissing();\n");
+        }
+        builder.append("    }\n\n")
+                .append("    @Override public int viewsResolved() {\n")
+                .append("      return resolved;\n")
+                .append("    }\n\n")
+                .append("    @Override public int optionalViewsMissing() {\n")
+                .append("      return missing;\n")
+                .append("    }\n\n")
+                .append("    @Override public void unbind() {\n");
+        int bodyStart = builder.length();
+        builder.append("      ").append(getTargetClassName()).append(" target = this.target;\n")
+                .append("      if (target == null) {\n")
+                .append("        throw new IllegalStateException(\"Bindings already cleared.\");\n")
+                .append("      }\n")
+                .append("      this.target = null;\n");
+        emitClearBindings(builder, "      ");
+        if (hasParent) {
+            builder.append("      parent.unbind();\n")
+                    .append("      parent = null;\n");
+        }
+        emitTraceSection(builder, bodyStart, "unbind", "      ");
+        builder.append("    }\n")
+                .append("  }\n");
+    }
+
+    /** IDs of the views that get a listener, which the unbinder keeps to detach it again. */
+    private List<Integer> getListenerViewIds() {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (ViewBinding viewBinding : viewBindings) {
+            if (viewBinding.isClick()) {
+                ids.add(viewBinding.getId());
+            }
+        }
+        for (ClickBinding clickBinding : clickBindings) {
+            for (int id : clickBinding.getIds()) {
+                ids.add(id);
+            }
+        }
+        for (ViewBinding viewBinding : viewBindings) {
+            if (viewBinding.isItemClick()) {
+                ids.add(viewBinding.getId());
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /** The unbinder's field, or with a package binder its array element, holding the view {@code id}. */
+    private String getListenerView(int id) {
+        if (packageBinderClassName != null) {
+            return "views[" + getListenerViewIds().indexOf(id) + "]";
+        }
+        return "view" + id;
+    }
+
+    /** Detaches the listeners of this target's views and resets its fields. */
+    private void emitClearBindings(StringBuilder builder, String indent) {
+        Set<Integer> clickIds = new LinkedHashSet<>();
+        Set<Integer> itemClickIds = new LinkedHashSet<>();
+        Set<Integer> optionalIds = new LinkedHashSet<>();
+        for (ViewBinding viewBinding : viewBindings) {
+            if (viewBinding.isClick()) {
+                clickIds.add(viewBinding.getId());
+            }
+            if (viewBinding.isItemClick()) {
+                itemClickIds.add(viewBinding.getId());
+            }
+        }
+        for (ClickBinding clickBinding : clickBindings) {
+            for (int id : clickBinding.getIds()) {
+                clickIds.add(id);
+                if (!clickBinding.isRequired()) {
+                    optionalIds.add(id);
+                }
+            }
+        }
+        for (Integer id : getListenerViewIds()) {
+            String view = getListenerView(id);
+            String nested = indent;
+            if (optionalIds.contains(id)) {
+                builder.append(indent).append("if (").append(view).append(" != null) {\n");
+                nested = indent + "  ";
+            }
+            if (clickIds.contains(id)) {
+                builder.append(nested).append(view).append(".setOnClickListener(null);\n");
+            }
+            if (itemClickIds.contains(id)) {
+                builder.append(nested).append("((AdapterView<?>) ").append(view)
+                        .append(").setOnItemClickListener(null);\n");
+            }
+            if (optionalIds.contains(id)) {
+                builder.append(indent).append("}\n");
+            }
+            builder.append(indent).append(view).append(" = null;\n");
+        }
+        for (ViewBinding viewBinding : viewBindings) {
+            builder.append(indent).append("target.").append(viewBinding.getName()).append(" = null;\n");
+        }
+        for (ViewsBinding viewsBinding : viewsBindings) {
+            builder.append(indent).append("target.").append(viewsBinding.getName()).append(" = null;\n");
+        }
+    }
+
+    /**
+     * The members of this target in its package binder: the methods of {@link #generateJavaCode()}
+     * as static methods named after the target, without the {@code Activity} and {@code Dialog}
+     * helpers, plus {@code unbind} and {@code clear} methods that the package binder and its
+     * shared {@code ViewUnbinder} dispatch to.
+     */
+    public void emitPackageBinderMembers(StringBuilder builder) {
+        boolean hasParent = parentBinderClassName != null;
+        String name = targetClassName;
+        String target = getTargetClassName();
+        if (singlePass) {
+            emitIdsField(builder);
+            builder.append('\n');
+        }
+        builder.append("  public static Unbinder ").append(getBindMethodName()).append("(Finder finder, ")
+                .append(target).append(" target, Object source) {\n");
+        String parentBind = null;
+        if (hasParent) {
+            // A parent binder class of another module resolves its views itself.
+            parentBind = parentClassName != null
+                    ? getParentMethod("bind") + "(finder, target, source)"
+                    : parentBinderClassName + ".bind(target, finder.getRoot(source), finder.getLookup(source))";
+        }
+        emitFinderBindBody(builder, parentBind);
+        builder.append("  }\n\n");
+        emitStaticBindMethod(builder);
+        builder.append('\n');
+
+        builder.append("  public static void unbind").append(name).append('(').append(target)
+                .append(" target) {\n");
+        int bodyStart = builder.length();
+        if (parentClassName != null) {
+            builder.append("    ").append(getParentMethod("unbind")).append("(target);\n");
+        } else if (hasParent) {
+            String parentTarget = parentBinderClassName.substring(0,
+                    parentBinderClassName.length() - SmartKnifeProcessor.SUFFIX.length());
+            int lastDot = parentTarget.lastIndexOf('.');
+            parentTarget = parentTarget.substring(0, lastDot + 1)
+                    + parentTarget.substring(lastDot + 1).replace('$', '.');
+            builder.append("    new ").append(parentBinderClassName).append('<').append(parentTarget)
+                    .append(">().unbind(target);\n");
+        }
+        for (ViewBinding viewBinding : viewBindings) {
+            builder.append("    target.").append(viewBinding.getName()).append(" = null;\n");
+        }
+        for (ViewsBinding viewsBinding : viewsBindings) {
+            builder.append("    target.").append(viewsBinding.getName()).append(" = null;\n");
+        }
+        emitTraceSection(builder, bodyStart, "unbind", "    ");
+        builder.append("  }\n\n");
+
+        builder.append("  static void clear").append(name).append('(').append(target)
+                .append(" target, View[] views) {\n");
+        bodyStart = builder.length();
+        emitClearBindings(builder, "    ");
+        emitTraceSection(builder, bodyStart, "unbind", "    ");
+        builder.append("  }\n");
+    }
+
+    /**
+     * Whether {@link #generateClassFiles()} can write this binder. Class files cover targets that
+     * only bind plain {@code @ViewInject} fields, one {@code findViewById} each; binders that need
+     * listeners, lazy fields, arrays, resources, single-pass lookup, trace sections or a parent in
+     * a package binder are written as source.
+     */
+    public boolean canGenerateClassFiles() {
+        if (parentClassName != null || singlePass || trace || !clickBindings.isEmpty() || !viewsBindings.isEmpty() || !resourceBindings.isEmpty()) {
+            return false;
+        }
+        for (ViewBinding viewBinding : viewBindings) {
+            if (viewBinding.isLazy() || viewBinding.isClick() || viewBinding.isItemClick()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The binder and its {@code ViewUnbinder} as class files, by binary name. They behave exactly
+     * like the classes compiled from {@link #generateJavaCode()}.
+     */
+    public Map<String, byte[]> generateClassFiles() {
+        Map<String, byte[]> classFiles = new LinkedHashMap<>();
+        classFiles.put(getBinderClassFullName(), generateBinderClassFile());
+        classFiles.put(getBinderClassFullName() + "$ViewUnbinder", generateUnbinderClassFile());
+        return classFiles;
+    }
+
+    private static String internalName(String binaryName) {
+        return binaryName.replace('.', '/');
+    }
+
+    private String getTargetInternalName() {
+        return internalName(packageName + "." + targetClassName);
+    }
+
+    /** Internal name of the target of the parent binder, or {@code Object} without a parent. */
+    private String getParentTargetInternalName() {
+        if (parentBinderClassName == null) {
+            return OBJECT;
+        }
+        String parent = internalName(parentBinderClassName);
+        return parent.substring(0, parent.length() - SmartKnifeProcessor.SUFFIX.length());
+    }
+
+    private void addInnerClasses(ClassFileWriter writer, String unbinder) {
+        int nested = ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_ABSTRACT;
+        int nestedInterface = nested | ClassFileWriter.ACC_INTERFACE;
+        writer.addInnerClass(FINDER, SMART_KNIFE, "Finder", nested | ClassFileWriter.ACC_ENUM);
+        writer.addInnerClass(UNBINDER, SMART_KNIFE, "Unbinder", nestedInterface);
+        writer.addInnerClass(BIND_COUNTS, SMART_KNIFE, "BindCounts", nestedInterface);
+        if (parentBinderClassName == null) {
+            writer.addInnerClass(VIEW_BINDER, SMART_KNIFE, "ViewBinder", nestedInterface);
+        }
+        writer.addInnerClass(unbinder, internalName(getBinderClassFullName()), "ViewUnbinder",
+                ClassFileWriter.ACC_STATIC | ClassFileWriter.ACC_FINAL);
+    }
+
+    private byte[] generateBinderClassFile() {
+        boolean hasParent = parentBinderClassName != null;
+        String binder = internalName(getBinderClassFullName());
+        String unbinder = binder + "$ViewUnbinder";
+        String target = "L" + getTargetInternalName() + ";";
+        String parent = hasParent ? internalName(parentBinderClassName) : OBJECT;
+        String signature = "<T:" + target + ">" + (hasParent
+                ? "L" + parent + "<TT;>;"
+                : "L" + OBJECT + ";L" + VIEW_BINDER + "<TT;>;");
+        ClassFileWriter writer = hasParent
+                ? new ClassFileWriter(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_SUPER, binder, signature, parent)
+                : new ClassFileWriter(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_SUPER, binder, signature, parent,
+                        VIEW_BINDER);
+        addInnerClasses(writer, unbinder);
+
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "<init>", "()V", null)
+                .aload(0)
+                .invoke(ClassFileWriter.INVOKESPECIAL, parent, "<init>", "()V")
+                .op(ClassFileWriter.RETURN);
+
+        String viewBind = "(" + target + "L" + VIEW + ";)L" + UNBINDER + ";";
+        String lookupBind = "(" + target + "L" + VIEW + ";L" + VIEW_LOOKUP + ";)L" + UNBINDER + ";";
+        String bind = "(L" + FINDER + ";" + target + "L" + OBJECT + ";)L" + UNBINDER + ";";
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "bind", bind,
+                "(L" + FINDER + ";TT;L" + OBJECT + ";)L" + UNBINDER + ";")
+                .aload(2)
+                .aload(1)
+                .aload(3)
+                .invoke(ClassFileWriter.INVOKEVIRTUAL, FINDER, "getRoot", "(L" + OBJECT + ";)L" + VIEW + ";")
+                .aload(1)
+                .aload(3)
+                .invoke(ClassFileWriter.INVOKEVIRTUAL, FINDER, "getLookup", "(L" + OBJECT + ";)L" + VIEW_LOOKUP + ";")
+                .invoke(ClassFileWriter.INVOKESTATIC, binder, "bind", lookupBind)
+                .op(ClassFileWriter.ARETURN);
+        // The bridge javac adds for the erasure of the overridden bind(Finder, T, Object).
+        String erased = "L" + getParentTargetInternalName() + ";";
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_BRIDGE | ClassFileWriter.ACC_SYNTHETIC,
+                "bind", "(L" + FINDER + ";" + erased + "L" + OBJECT + ";)L" + UNBINDER + ";", null)
+                .aload(0)
+                .aload(1)
+                .aload(2)
+                .type(ClassFileWriter.CHECKCAST, getTargetInternalName())
+                .aload(3)
+                .invoke(ClassFileWriter.INVOKEVIRTUAL, binder, "bind", bind)
+                .op(ClassFileWriter.ARETURN);
+
+        emitWindowBindMethodCode(writer, binder, target, "android/app/Activity");
+        emitWindowBindMethodCode(writer, binder, target, "android/app/Dialog");
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, "bind", viewBind, null)
+                .aload(0)
+                .aload(1)
+                .op(ClassFileWriter.ACONST_NULL)
+                .invoke(ClassFileWriter.INVOKESTATIC, binder, "bind", lookupBind)
+                .op(ClassFileWriter.ARETURN);
+        emitBindMethodCode(writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, "bind",
+                lookupBind, null), unbinder);
+
+        ClassFileWriter.Code unbind = writer.addMethod(ClassFileWriter.ACC_PUBLIC, "unbind",
+                "(" + target + ")V", "(TT;)V");
+        if (hasParent) {
+            unbind.aload(0)
+                    .aload(1)
+                    .invoke(ClassFileWriter.INVOKESPECIAL, parent, "unbind", "(" + erased + ")V");
+        }
+        for (ViewBinding viewBinding : viewBindings) {
+            unbind.aload(1)
+                    .op(ClassFileWriter.ACONST_NULL)
+                    .field(ClassFileWriter.PUTFIELD, getTargetInternalName(), viewBinding.getName(),
+                            "L" + internalName(viewBinding.getBinaryType()) + ";");
+        }
+        unbind.op(ClassFileWriter.RETURN);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_BRIDGE | ClassFileWriter.ACC_SYNTHETIC,
+                "unbind", "(" + erased + ")V", null)
+                .aload(0)
+                .aload(1)
+                .type(ClassFileWriter.CHECKCAST, getTargetInternalName())
+                .invoke(ClassFileWriter.INVOKEVIRTUAL, binder, "unbind", "(" + target + ")V")
+                .op(ClassFileWriter.RETURN);
+        return writer.toByteArray();
+    }
+
+    private void emitWindowBindMethodCode(ClassFileWriter writer, String binder, String target, String window) {
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC, "bind",
+                "(" + target + "L" + window + ";)L" + UNBINDER + ";", null)
+                .aload(0)
+                .aload(1)
+                .invoke(ClassFileWriter.INVOKEVIRTUAL, window, "getWindow", "()Landroid/view/Window;")
+                .invoke(ClassFileWriter.INVOKEVIRTUAL, "android/view/Window", "getDecorView", "()L" + VIEW + ";")
+                .invoke(ClassFileWriter.INVOKESTATIC, binder, "bind", "(" + target + "L" + VIEW + ";)L" + UNBINDER + ";")
+                .op(ClassFileWriter.ARETURN);
+    }
+
+    /** The static {@code bind(target, source, lookup)} of {@link #emitStaticBindMethod}, without single-pass. */
+    private void emitBindMethodCode(ClassFileWriter.Code code, String unbinder) {
+        boolean hasParent = parentBinderClassName != null;
+        String target = getTargetInternalName();
+        int unbinderLocal = hasParent ? 4 : 3;
+        int viewLocal = unbinderLocal + 1;
+        int missingLocal = viewLocal + 1;
+        int exceptionLocal = missingLocal + 1;
+
+        if (hasParent) {
+            code.aload(0)
+                    .aload(1)
+                    .aload(2)
+                    .invoke(ClassFileWriter.INVOKESTATIC, internalName(parentBinderClassName), "bind",
+                            "(L" + getParentTargetInternalName() + ";L" + VIEW + ";L" + VIEW_LOOKUP + ";)L"
+                                    + UNBINDER + ";")
+                    .astore(3);
+        }
+        code.type(ClassFileWriter.NEW, unbinder)
+                .op(ClassFileWriter.DUP)
+                .aload(0);
+        if (hasParent) {
+            code.aload(3)
+                    .invoke(ClassFileWriter.INVOKESPECIAL, unbinder, "<init>", "(L" + target + ";L" + UNBINDER + ";)V");
+        } else {
+            code.invoke(ClassFileWriter.INVOKESPECIAL, unbinder, "<init>", "(L" + target + ";)V");
+        }
+        code.astore(unbinderLocal);
+        int lookups = countLookups(false);
+        boolean hasOptional = countLookups(true) > 0;
+        if (hasOptional) {
+            code.push(0).istore(missingLocal);
+        }
+
+        for (ViewBinding viewBinding : viewBindings) {
+            int id = viewBinding.getId();
+            code.aload(1)
+                    .aload(2)
+                    .push(id)
+                    .invoke(ClassFileWriter.INVOKESTATIC, FINDER, "findViewById",
+                            "(L" + VIEW + ";L" + VIEW_LOOKUP + ";I)L" + VIEW + ";")
+                    .astore(viewLocal);
+            if (!viewBinding.isRequired()) {
+                ClassFileWriter.Label found = new ClassFileWriter.Label();
+                code.aload(viewLocal)
+                        .jump(ClassFileWriter.IFNONNULL, found)
+                        .iinc(missingLocal, 1)
+                        .mark(found);
+            } else if (!trusted) {
+                ClassFileWriter.Label found = new ClassFileWriter.Label();
+                code.aload(viewLocal)
+                        .jump(ClassFileWriter.IFNONNULL, found)
+                        .aload(1)
+                        .invoke(ClassFileWriter.INVOKEVIRTUAL, VIEW, "getContext", "()Landroid/content/Context;")
+                        .push(id)
+                        .push(viewBinding.getName())
+                        .invoke(ClassFileWriter.INVOKESTATIC, FINDER, "missingView", MISSING_VIEW_DESCRIPTOR)
+                        .op(ClassFileWriter.ATHROW)
+                        .mark(found);
+            }
+            String type = internalName(viewBinding.getBinaryType());
+            if (VIEW.equals(type)) {
+                code.aload(0)
+                        .aload(viewLocal)
+                        .field(ClassFileWriter.PUTFIELD, target, viewBinding.getName(), "L" + type + ";");
+                continue;
+            }
+            ClassFileWriter.Label start = new ClassFileWriter.Label();
+            ClassFileWriter.Label end = new ClassFileWriter.Label();
+            code.mark(start)
+                    .aload(0)
+                    .aload(viewLocal)
+                    .type(ClassFileWriter.CHECKCAST, type)
+                    .field(ClassFileWriter.PUTFIELD, target, viewBinding.getName(), "L" + type + ";")
+                    .mark(end);
+            if (!trusted) {
+                ClassFileWriter.Label handler = new ClassFileWriter.Label();
+                ClassFileWriter.Label next = new ClassFileWriter.Label();
+                code.jump(ClassFileWriter.GOTO, next)
+                        .markHandler(handler)
+                        .astore(exceptionLocal)
+                        .aload(viewLocal)
+                        .push(id)
+                        .push(viewBinding.getName())
+                        .aload(exceptionLocal)
+                        .invoke(ClassFileWriter.INVOKESTATIC, FINDER, "wrongType", WRONG_TYPE_DESCRIPTOR)
+                        .op(ClassFileWriter.ATHROW)
+                        .mark(next)
+                        .tryCatch(start, end, handler, CLASS_CAST_EXCEPTION);
+            }
+        }
+
+        if (lookups > 0) {
+            code.aload(unbinderLocal)
+                    .op(ClassFileWriter.DUP)
+                    .field(ClassFileWriter.GETFIELD, unbinder, "resolved", "I")
+                    .push(lookups);
+            if (hasOptional) {
+                code.iload(missingLocal).op(ClassFileWriter.ISUB);
+            }
+            code.op(ClassFileWriter.IADD)
+                    .field(ClassFileWriter.PUTFIELD, unbinder, "resolved", "I");
+        }
+        if (hasOptional) {
+            code.aload(unbinderLocal)
+                    .op(ClassFileWriter.DUP)
+                    .field(ClassFileWriter.GETFIELD, unbinder, "missing", "I")
+                    .iload(missingLocal)
+                    .op(ClassFileWriter.IADD)
+                    .field(ClassFileWriter.PUTFIELD, unbinder, "missing", "I");
+        }
+        code.aload(unbinderLocal)
+                .op(ClassFileWriter.ARETURN);
+    }
+
+    /** The {@code ViewUnbinder} of {@link #emitUnbinderClass}, for a binder without listeners. */
+    private byte[] generateUnbinderClassFile() {
+        boolean hasParent = parentBinderClassName != null;
+        String unbinder = internalName(getBinderClassFullName()) + "$ViewUnbinder";
+        String target = getTargetInternalName();
+        ClassFileWriter writer = new ClassFileWriter(ClassFileWriter.ACC_FINAL | ClassFileWriter.ACC_SUPER,
+                unbinder, null, OBJECT, UNBINDER, BIND_COUNTS);
+        addInnerClasses(writer, unbinder);
+        writer.addField(ClassFileWriter.ACC_PRIVATE, "target", "L" + target + ";");
+        if (hasParent) {
+            writer.addField(ClassFileWriter.ACC_PRIVATE, "parent", "L" + UNBINDER + ";");
+        }
+        writer.addField(0, "resolved", "I");
+        writer.addField(0, "missing", "I");
+
+        ClassFileWriter.Code constructor = writer.addMethod(0, "<init>",
+                hasParent ? "(L" + target + ";L" + UNBINDER + ";)V" : "(L" + target + ";)V", null)
+                .aload(0)
+                .invoke(ClassFileWriter.INVOKESPECIAL, OBJECT, "<init>", "()V")
+                .aload(0)
+                .aload(1)
+                .field(ClassFileWriter.PUTFIELD, unbinder, "target", "L" + target + ";");
+        if (hasParent) {
+            constructor.aload(0)
+                    .aload(2)
+                    .field(ClassFileWriter.PUTFIELD, unbinder, "parent", "L" + UNBINDER + ";")
+                    .aload(0)
+                    .aload(2)
+                    .type(ClassFileWriter.CHECKCAST, BIND_COUNTS)
+                    .invoke(ClassFileWriter.INVOKEINTERFACE, BIND_COUNTS, "viewsResolved", "()I")
+                    .field(ClassFileWriter.PUTFIELD, unbinder, "resolved", "I")
+                    .aload(0)
+                    .aload(2)
+                    .type(ClassFileWriter.CHECKCAST, BIND_COUNTS)
+                    .invoke(ClassFileWriter.INVOKEINTERFACE, BIND_COUNTS, "optionalViewsMissing", "()I")
+                    .field(ClassFileWriter.PUTFIELD, unbinder, "missing", "I");
+        }
+        constructor.op(ClassFileWriter.RETURN);
+
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "viewsResolved", "()I", null)
+                .aload(0)
+                .field(ClassFileWriter.GETFIELD, unbinder, "resolved", "I")
+                .op(ClassFileWriter.IRETURN);
+        writer.addMethod(ClassFileWriter.ACC_PUBLIC, "optionalViewsMissing", "()I", null)
+                .aload(0)
+                .field(ClassFileWriter.GETFIELD, unbinder, "missing", "I")
+                .op(ClassFileWriter.IRETURN);
+
+        ClassFileWriter.Label bound = new ClassFileWriter.Label();
+        ClassFileWriter.Code unbind = writer.addMethod(ClassFileWriter.ACC_PUBLIC, "unbind", "()V", null)
+                .aload(0)
+                .field(ClassFileWriter.GETFIELD, unbinder, "target", "L" + target + ";")
+                .astore(1)
+                .aload(1)
+                .jump(ClassFileWriter.IFNONNULL, bound)
+                .type(ClassFileWriter.NEW, ILLEGAL_STATE_EXCEPTION)
+                .op(ClassFileWriter.DUP)
+                .push("Bindings already cleared.")
+                .invoke(ClassFileWriter.INVOKESPECIAL, ILLEGAL_STATE_EXCEPTION, "<init>", "(Ljava/lang/String;)V")
+                .op(ClassFileWriter.ATHROW)
+                .mark(bound)
+                .aload(0)
+                .op(ClassFileWriter.ACONST_NULL)
+                .field(ClassFileWriter.PUTFIELD, unbinder, "target", "L" + target + ";");
+        for (ViewBinding viewBinding : viewBindings) {
+            unbind.aload(1)
+                    .op(ClassFileWriter.ACONST_NULL)
+                    .field(ClassFileWriter.PUTFIELD, target, viewBinding.getName(),
+                            "L" + internalName(viewBinding.getBinaryType()) + ";");
+        }
+        if (hasParent) {
+            unbind.aload(0)
+                    .field(ClassFileWriter.GETFIELD, unbinder, "parent", "L" + UNBINDER + ";")
+                    .invoke(ClassFileWriter.INVOKEINTERFACE, UNBINDER, "unbind", "()V")
+                    .aload(0)
+                    .op(ClassFileWriter.ACONST_NULL)
+                    .field(ClassFileWriter.PUTFIELD, unbinder, "parent", "L" + UNBINDER + ";");
+        }
+        unbind.op(ClassFileWriter.RETURN);
+        return writer.toByteArray();
+    }
 }
@@ -0,0 +1,481 @@
+package com.laomo.inject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Just enough of the class file format for the binders written in {@code smartknife.bytecode}
+ * mode: a constant pool, fields, and methods with code, exception handlers and generic signatures.
+ * Names are internal names such as {@code com/laomo/inject/SmartKnife$Finder}.
+ * <p>
+ * Classes are written as version 50 (Java 6) without stack map frames, which the VM verifies by
+ * type inference. Code may only use reference and int values, and at most 256 locals.
+ */
+final class ClassFileWriter {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+    static final int ACC_BRIDGE = 0x0040;
+    static final int ACC_INTERFACE = 0x0200;
+    static final int ACC_ABSTRACT = 0x0400;
+    static final int ACC_SYNTHETIC = 0x1000;
+    static final int ACC_ENUM = 0x4000;
+
+    static final int ACONST_NULL = 1;
+    static final int DUP = 89;
+    static final int IADD = 96;
+    static final int ISUB = 100;
+    static final int IFNONNULL = 199;
+    static final int GOTO = 167;
+    static final int IRETURN = 172;
+    static final int ARETURN = 176;
+    static final int RETURN = 177;
+    static final int GETFIELD = 180;
+    static final int PUTFIELD = 181;
+    static final int INVOKEVIRTUAL = 182;
+    static final int INVOKESPECIAL = 183;
+    static final int INVOKESTATIC = 184;
+    static final int INVOKEINTERFACE = 185;
+    static final int NEW = 187;
+    static final int ATHROW = 191;
+    static final int CHECKCAST = 192;
+
+    private static final int CLASS_VERSION = 50;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /** Net stack change of the opcodes that take no operands, by opcode. */
+    private static final Map<Integer, Integer> STACK_DELTAS = new HashMap<>();
+
+    static {
+        STACK_DELTAS.put(ACONST_NULL, 1);
+        STACK_DELTAS.put(DUP, 1);
+        STACK_DELTAS.put(IADD, -1);
+        STACK_DELTAS.put(ISUB, -1);
+        STACK_DELTAS.put(IRETURN, -1);
+        STACK_DELTAS.put(ARETURN, -1);
+        STACK_DELTAS.put(RETURN, 0);
+        STACK_DELTAS.put(ATHROW, -1);
+    }
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    /** Constant pool indexes by tag and value, so every constant is written once. */
+    private final Map<String, Integer> constants = new HashMap<>();
+    private int constantCount = 1;
+
+    private final int access;
+    private final String name;
+    private final String signature;
+    private final String superName;
+    private final String[] interfaces;
+    private final List<String[]> fields = new ArrayList<>();
+    private final List<Code> methods = new ArrayList<>();
+    private final List<Object[]> innerClasses = new ArrayList<>();
+
+    ClassFileWriter(int access, String name, String signature, String superName, String... interfaces) {
+        this.access = access;
+        this.name = name;
+        this.signature = signature;
+        this.superName = superName;
+        this.interfaces = interfaces;
+    }
+
+    /** Record that {@code innerName} is a member class of {@code outerName}, as javac does. */
+    void addInnerClass(String innerName, String outerName, String simpleName, int innerAccess) {
+        innerClasses.add(new Object[] { innerName, outerName, simpleName, innerAccess });
+    }
+
+    void addField(int fieldAccess, String fieldName, String descriptor) {
+        fields.add(new String[] { Integer.toString(fieldAccess), fieldName, descriptor });
+    }
+
+    /** Start a method; its code is complete once {@link #toByteArray()} is called. */
+    Code addMethod(int methodAccess, String methodName, String descriptor, String methodSignature) {
+        Code code = new Code(methodAccess, methodName, descriptor, methodSignature);
+        methods.add(code);
+        return code;
+    }
+
+    byte[] toByteArray() {
+        try {
+            // Written first, so that every constant it uses is in the pool before the pool is copied.
+            ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+            DataOutputStream body = new DataOutputStream(bodyBytes);
+            body.writeShort(access);
+            body.writeShort(classConstant(name));
+            body.writeShort(classConstant(superName));
+            body.writeShort(interfaces.length);
+            for (String anInterface : interfaces) {
+                body.writeShort(classConstant(anInterface));
+            }
+            body.writeShort(fields.size());
+            for (String[] field : fields) {
+                body.writeShort(Integer.parseInt(field[0]));
+                body.writeShort(utf8(field[1]));
+                body.writeShort(utf8(field[2]));
+                body.writeShort(0);
+            }
+            body.writeShort(methods.size());
+            for (Code method : methods) {
+                method.writeTo(body);
+            }
+            int attributeCount = (signature != null ? 1 : 0) + (innerClasses.isEmpty() ? 0 : 1);
+            body.writeShort(attributeCount);
+            if (signature != null) {
+                writeSignature(body, signature);
+            }
+            if (!innerClasses.isEmpty()) {
+                body.writeShort(utf8("InnerClasses"));
+                body.writeInt(2 + 8 * innerClasses.size());
+                body.writeShort(innerClasses.size());
+                for (Object[] innerClass : innerClasses) {
+                    body.writeShort(classConstant((String) innerClass[0]));
+                    body.writeShort(classConstant((String) innerClass[1]));
+                    body.writeShort(utf8((String) innerClass[2]));
+                    body.writeShort((Integer) innerClass[3]);
+                }
+            }
+
+            ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(classBytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            out.writeShort(constantCount);
+            poolBytes.writeTo(out);
+            bodyBytes.writeTo(out);
+            return classBytes.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void writeSignature(DataOutputStream out, String value) throws IOException {
+        out.writeShort(utf8("Signature"));
+        out.writeInt(2);
+        out.writeShort(utf8(value));
+    }
+
+    private int utf8(String value) throws IOException {
+        Integer index = constants.get(CONSTANT_UTF8 + ":" + value);
+        if (index != null) {
+            return index;
+        }
+        pool.writeByte(CONSTANT_UTF8);
+        pool.writeUTF(value);
+        return addConstant(CONSTANT_UTF8 + ":" + value);
+    }
+
+    private int classConstant(String internalName) throws IOException {
+        return reference(CONSTANT_CLASS, internalName, utf8(internalName));
+    }
+
+    private int stringConstant(String value) throws IOException {
+        return reference(CONSTANT_STRING, value, utf8(value));
+    }
+
+    private int intConstant(int value) throws IOException {
+        Integer index = constants.get(CONSTANT_INTEGER + ":" + value);
+        if (index != null) {
+            return index;
+        }
+        pool.writeByte(CONSTANT_INTEGER);
+        pool.writeInt(value);
+        return addConstant(CONSTANT_INTEGER + ":" + value);
+    }
+
+    private int memberConstant(int tag, String owner, String memberName, String descriptor)
+            throws IOException {
+        int ownerIndex = classConstant(owner);
+        int nameAndType = reference(CONSTANT_NAME_AND_TYPE, memberName + ":" + descriptor,
+                utf8(memberName), utf8(descriptor));
+        return reference(tag, owner + "." + memberName + ":" + descriptor, ownerIndex, nameAndType);
+    }
+
+    /** A constant made of other constants, given by their indexes. */
+    private int reference(int tag, String key, int... indexes) throws IOException {
+        Integer index = constants.get(tag + ":" + key);
+        if (index != null) {
+            return index;
+        }
+        pool.writeByte(tag);
+        for (int i : indexes) {
+            pool.writeShort(i);
+        }
+        return addConstant(tag + ":" + key);
+    }
+
+    private int addConstant(String key) {
+        int index = constantCount++;
+        constants.put(key, index);
+        return index;
+    }
+
+    /** Slots taken by the arguments of a method descriptor, and by its result. */
+    private static int[] argumentAndResultSlots(String descriptor) {
+        int slots = 0;
+        int i = 1;
+        while (descriptor.charAt(i) != ')') {
+            char c = descriptor.charAt(i);
+            while (c == '[') {
+                c = descriptor.charAt(++i);
+            }
+            if (c == 'L') {
+                i = descriptor.indexOf(';', i);
+            }
+            slots++;
+            i++;
+        }
+        return new int[] { slots, descriptor.charAt(i + 1) == 'V' ? 0 : 1 };
+    }
+
+    /** A position in the code of a method, bound by {@link Code#mark}. */
+    static final class Label {
+        private int offset = -1;
+    }
+
+    /** The code of one method. Tracks the stack depth and locals used to compute their maximums. */
+    final class Code {
+        private final int methodAccess;
+        private final String methodName;
+        private final String descriptor;
+        private final String methodSignature;
+        private final ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+        private final DataOutputStream code = new DataOutputStream(codeBytes);
+        /** Jump instructions to patch once their labels are bound: offset of the opcode, label. */
+        private final List<Object[]> jumps = new ArrayList<>();
+        /** start, end, handler labels and the caught class. */
+        private final List<Object[]> handlers = new ArrayList<>();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+
+        Code(int methodAccess, String methodName, String descriptor, String methodSignature) {
+            this.methodAccess = methodAccess;
+            this.methodName = methodName;
+            this.descriptor = descriptor;
+            this.methodSignature = methodSignature;
+            maxLocals = argumentAndResultSlots(descriptor)[0] + ((methodAccess & ACC_STATIC) != 0 ? 0 : 1);
+        }
+
+        Code op(int opcode) {
+            write(opcode);
+            adjustStack(STACK_DELTAS.get(opcode));
+            return this;
+        }
+
+        Code aload(int local) {
+            return local(42, 25, local, 1);
+        }
+
+        Code astore(int local) {
+            return local(75, 58, local, -1);
+        }
+
+        Code iload(int local) {
+            return local(26, 21, local, 1);
+        }
+
+        Code istore(int local) {
+            return local(59, 54, local, -1);
+        }
+
+        Code iinc(int local, int delta) {
+            write(132);
+            write(local);
+            write(delta);
+            maxLocals = Math.max(maxLocals, local + 1);
+            return this;
+        }
+
+        Code push(int value) {
+            if (value >= -1 && value <= 5) {
+                write(3 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                write(16);
+                write(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                write(17);
+                writeShort(value);
+            } else {
+                ldc(intConstantUnchecked(value));
+                return this;
+            }
+            adjustStack(1);
+            return this;
+        }
+
+        Code push(String value) {
+            try {
+                ldc(stringConstant(value));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return this;
+        }
+
+        /** {@code NEW} or {@code CHECKCAST} of the class {@code type}. */
+        Code type(int opcode, String type) {
+            write(opcode);
+            writeShort(classIndex(type));
+            adjustStack(opcode == NEW ? 1 : 0);
+            return this;
+        }
+
+        Code field(int opcode, String owner, String fieldName, String fieldDescriptor) {
+            write(opcode);
+            try {
+                writeShort(memberConstant(CONSTANT_FIELDREF, owner, fieldName, fieldDescriptor));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            adjustStack(opcode == GETFIELD ? 0 : -2);
+            return this;
+        }
+
+        Code invoke(int opcode, String owner, String name, String methodDescriptor) {
+            int[] slots = argumentAndResultSlots(methodDescriptor);
+            int tag = opcode == INVOKEINTERFACE ? CONSTANT_INTERFACE_METHODREF : CONSTANT_METHODREF;
+            write(opcode);
+            try {
+                writeShort(memberConstant(tag, owner, name, methodDescriptor));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            if (opcode == INVOKEINTERFACE) {
+                write(slots[0] + 1);
+                write(0);
+            }
+            adjustStack(-slots[0] - (opcode == INVOKESTATIC ? 0 : 1) + slots[1]);
+            return this;
+        }
+
+        /** {@code IFNONNULL} or {@code GOTO} to {@code label}. */
+        Code jump(int opcode, Label label) {
+            jumps.add(new Object[] { codeBytes.size(), label });
+            write(opcode);
+            writeShort(0);
+            adjustStack(opcode == GOTO ? 0 : -1);
+            return this;
+        }
+
+        Code mark(Label label) {
+            label.offset = codeBytes.size();
+            return this;
+        }
+
+        /** Bind {@code handler}, where the exception caught is the only value on the stack. */
+        Code markHandler(Label handler) {
+            mark(handler);
+            stack = 1;
+            maxStack = Math.max(maxStack, stack);
+            return this;
+        }
+
+        /** Catch {@code type} thrown between {@code start} and {@code end} at {@code handler}. */
+        Code tryCatch(Label start, Label end, Label handler, String type) {
+            handlers.add(new Object[] { start, end, handler, type });
+            return this;
+        }
+
+        private Code local(int shortOpcode, int opcode, int local, int delta) {
+            if (local <= 3) {
+                write(shortOpcode + local);
+            } else {
+                write(opcode);
+                write(local);
+            }
+            maxLocals = Math.max(maxLocals, local + 1);
+            adjustStack(delta);
+            return this;
+        }
+
+        private void ldc(int index) {
+            if (index <= 0xff) {
+                write(18);
+                write(index);
+            } else {
+                write(19);
+                writeShort(index);
+            }
+            adjustStack(1);
+        }
+
+        private int intConstantUnchecked(int value) {
+            try {
+                return intConstant(value);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        private int classIndex(String type) {
+            try {
+                return classConstant(type);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        private void adjustStack(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        private void write(int value) {
+            codeBytes.write(value);
+        }
+
+        private void writeShort(int value) {
+            codeBytes.write(value >>> 8);
+            codeBytes.write(value);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            byte[] bytes = codeBytes.toByteArray();
+            for (Object[] jump : jumps) {
+                int at = (Integer) jump[0];
+                int offset = ((Label) jump[1]).offset - at;
+                bytes[at + 1] = (byte) (offset >>> 8);
+                bytes[at + 2] = (byte) offset;
+            }
+            out.writeShort(methodAccess);
+            out.writeShort(utf8(methodName));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(methodSignature != null ? 2 : 1);
+            out.writeShort(utf8("Code"));
+            out.writeInt(12 + bytes.length + 8 * handlers.size());
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            out.writeShort(handlers.size());
+            for (Object[] handler : handlers) {
+                out.writeShort(((Label) handler[0]).offset);
+                out.writeShort(((Label) handler[1]).offset);
+                out.writeShort(((Label) handler[2]).offset);
+                out.writeShort(classConstant((String) handler[3]));
+            }
+            out.writeShort(0);
+            if (methodSignature != null) {
+                writeSignature(out, methodSignature);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.laomo.inject;
+
+final class ClickBinding {
+    private int[] ids;
+    private String name;
+    private String parameterType;
+    private long debounce;
+    private boolean required;
+
+    public ClickBinding(int[] ids, String name, String parameterType, long debounce, boolean required) {
+        this.ids = ids;
+        this.name = name;
+        this.parameterType = parameterType;
+        this.debounce = debounce;
+        this.required = required;
+    }
+
+    public int[] getIds() {
+        return ids;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Erased type of the single view parameter, or {@code null} if the method takes none. */
+    public String getParameterType() {
+        return parameterType;
+    }
+
+    public long getDebounce() {
+        return debounce;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+}
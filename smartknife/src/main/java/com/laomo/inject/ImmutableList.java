@@ -0,0 +1,36 @@
+package com.laomo.inject;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of views backed by the array it was created with. It does not copy the array,
+ * and {@code SmartKnife.apply()} walks it by index, so applying to it allocates nothing.
+ */
+final class ImmutableList<T> extends AbstractList<T> implements RandomAccess {
+    private final T[] views;
+
+    ImmutableList(T[] views) {
+        this.views = views;
+    }
+
+    @Override
+    public T get(int index) {
+        return views[index];
+    }
+
+    @Override
+    public int size() {
+        return views.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        for (T view : views) {
+            if (view == o) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
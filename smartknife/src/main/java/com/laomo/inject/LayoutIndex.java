@@ -0,0 +1,110 @@
+package com.laomo.inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/** The views declared in the layout XML files of a module, by ID name. */
+final class LayoutIndex {
+
+    /** One view declared with an ID in a layout file. */
+    static final class Declaration {
+        private final String layout;
+        private final String viewClass;
+
+        Declaration(String layout, String viewClass) {
+            this.layout = layout;
+            this.viewClass = viewClass;
+        }
+
+        public String getLayout() {
+            return layout;
+        }
+
+        /**
+         * The tag of the view, e.g. {@code TextView} or {@code com.example.ChartView}, or
+         * {@code null} if the tag does not tell, e.g. for {@code <include>} and {@code <fragment>}.
+         */
+        public String getViewClass() {
+            return viewClass;
+        }
+    }
+
+    private final Map<String, List<Declaration>> declarations = new HashMap<>();
+
+    /** Read every {@code .xml} file in the comma separated {@code layoutDirs}. */
+    static LayoutIndex read(String layoutDirs) throws IOException, SAXException, ParserConfigurationException {
+        LayoutIndex index = new LayoutIndex();
+        SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+        for (String layoutDir : layoutDirs.split(",")) {
+            File[] files = new File(layoutDir.trim()).listFiles();
+            if (files == null) {
+                throw new IOException("Not a directory: " + layoutDir);
+            }
+            // Sorted, so messages about the same ID always name the same layout first.
+            Arrays.sort(files);
+            for (File file : files) {
+                if (file.getName().endsWith(".xml")) {
+                    parser.parse(file, index.new Handler(file.getParentFile().getName() + "/" + file.getName()));
+                }
+            }
+        }
+        return index;
+    }
+
+    /** All views declared with {@code @+id/idName} or {@code @id/idName}, or {@code null}. */
+    public List<Declaration> getDeclarations(String idName) {
+        return declarations.get(idName);
+    }
+
+    private final class Handler extends DefaultHandler {
+        private final String layout;
+
+        Handler(String layout) {
+            this.layout = layout;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            String id = attributes.getValue("android:id");
+            if (id == null) {
+                return;
+            }
+            String idName;
+            if (id.startsWith("@+id/")) {
+                idName = id.substring("@+id/".length());
+            } else if (id.startsWith("@id/")) {
+                idName = id.substring("@id/".length());
+            } else {
+                // Framework IDs such as @android:id/list are not in the module's R.id.
+                return;
+            }
+            String viewClass;
+            if ("view".equals(qName)) {
+                viewClass = attributes.getValue("class");
+            } else if ("include".equals(qName) || "fragment".equals(qName) || "merge".equals(qName)) {
+                viewClass = null;
+            } else {
+                viewClass = qName;
+            }
+            List<Declaration> list = declarations.get(idName);
+            if (list == null) {
+                list = new ArrayList<>();
+                declarations.put(idName, list);
+            }
+            list.add(new Declaration(layout, viewClass));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+/**
+ * A view bound by {@link ViewInject @ViewInject(lazy = true)}. The view is looked up the first
+ * time {@link #get()} is called instead of when the target is bound, which keeps {@code bind()}
+ * cheap for views that are rarely touched:
+ * <pre>{@code
+ * @ViewInject(id = R.id.details, lazy = true)
+ * LazyView<TextView> details;
+ *
+ * void onMoreClick() {
+ *     details.get().setVisibility(View.VISIBLE);
+ * }
+ * }</pre>
+ * Instances are not thread safe; use them on the thread that owns the view tree.
+ */
+public final class LazyView<V> {
+
+    private final int id;
+    private final String who;
+    private final boolean required;
+    private final Class<?> type;
+    private View root;
+    private V view;
+
+    LazyView(View root, int id, String who, boolean required, Class<?> type) {
+        this.root = root;
+        this.id = id;
+        this.who = who;
+        this.required = required;
+        this.type = type;
+    }
+
+    /**
+     * The view, looked up in the bound view tree on the first call. A missing required view or a
+     * view of the wrong type fails here the same way {@code bind()} fails for other fields; a
+     * missing {@code @Nullable} view is {@code null}.
+     */
+    @SuppressWarnings("unchecked") // Checked by the cast to type.
+    public V get() {
+        View root = this.root;
+        if (root != null) {
+            View found = root.findViewById(id);
+            if (found == null && required) {
+                throw SmartKnife.Finder.missingView(root.getContext(), id, who);
+            }
+            try {
+                view = (V) type.cast(found);
+            } catch (ClassCastException e) {
+                throw SmartKnife.Finder.wrongType(found, id, who, e);
+            }
+            this.root = null;
+        }
+        return view;
+    }
+}
@@ -0,0 +1,25 @@
+package com.laomo.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Dispatch clicks on the views with the given IDs to the annotated method. The method may take
+ * no parameter or the clicked view.
+ * <pre>{@code
+ * @OnClick(id = { R.id.ok, R.id.cancel }, debounce = 500)
+ * void onButtonClick(View view) { ... }
+ * }</pre>
+ * All click methods of a target share one generated listener that dispatches on the view ID.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface OnClick {
+
+    int[] id();
+
+    /** Clicks within this many milliseconds of the last dispatched one are dropped. */
+    long debounce() default 0;
+}
@@ -0,0 +1,192 @@
+package com.laomo.inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One binder class for all targets of a package, generated with the {@code smartknife.consolidate}
+ * processor option. Instances created with a target's index bind that target. Its nested
+ * {@code Index} creates them for the module's {@link SmartKnife.BinderIndex}, which is how
+ * {@code SmartKnife} finds them. All targets share one {@code ViewUnbinder}, so a package costs
+ * three classes instead of two per target.
+ */
+final class PackageBinderClass {
+
+    private String packageName;
+
+    private List<BindingClass> bindingClasses = new ArrayList<>();
+
+    public PackageBinderClass(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getPackageBinderClassFullName() {
+        return packageName + "." + SmartKnifeProcessor.PACKAGE_BINDER;
+    }
+
+    /** Add a target, in the order of {@link BindingClass#getPackageBinderIndex()}. */
+    public void addBindingClass(BindingClass bindingClass) {
+        bindingClasses.add(bindingClass);
+    }
+
+    public String generateJavaCode() {
+        boolean resources = false;
+        for (BindingClass bindingClass : bindingClasses) {
+            resources |= bindingClass.hasResourceBindings();
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("// Generated code from SmartKnife. Do not modify!\n")
+                .append("package ").append(packageName).append(";\n\n")
+
+                .append("import android.os.SystemClock;\n")
+                .append("import android.view.View;\n")
+                .append("import android.view.View.OnClickListener;\n")
+                .append("import android.widget.AdapterView;\n")
+                .append("import android.widget.AdapterView.OnItemClickListener;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.BindCounts;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.BinderIndex;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.Finder;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.Unbinder;\n")
+                .append("import ").append(SmartKnife.class.getPackage().getName()).append(".SmartKnife.ViewBinder;\n");
+        if (resources) {
+            builder.append("import ").append(SmartKnife.class.getPackage().getName()).append(".ResourceCache;\n");
+        }
+        builder.append("import ").append(SmartKnife.class.getPackage().getName()).append(".ViewLookup;\n");
+        builder.append('\n');
+
+        String className = SmartKnifeProcessor.PACKAGE_BINDER;
+        builder.append("public final class ").append(className)
+                .append(" implements ViewBinder<Object> {\n\n")
+                .append("  /** Index of the target this binder binds. */\n")
+                .append("  private final int binder;\n\n")
+                .append("  public ").append(className).append("(int binder) {\n")
+                .append("    this.binder = binder;\n")
+                .append("  }\n\n");
+
+        emitBindMethod(builder);
+        builder.append('\n');
+        emitUnbindMethod(builder);
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append('\n');
+            bindingClass.emitPackageBinderMembers(builder);
+        }
+        builder.append('\n');
+        emitUnbinderClass(builder);
+        builder.append('\n');
+        emitIndexClass(builder);
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    /**
+     * The binder index of the package. The module's index creates the binders of the targets it
+     * can see directly, and asks this one for the others, e.g. package-private ones.
+     */
+    private void emitIndexClass(StringBuilder builder) {
+        builder.append("  public static final class ").append(SmartKnifeProcessor.PACKAGE_BINDER_INDEX)
+                .append(" implements BinderIndex {\n")
+                .append("    @Override public ViewBinder<Object> newBinder(Class<?> cls) {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("      if (cls == ").append(bindingClass.getTargetClassFullName()).append(".class) {\n")
+                    .append("        return new ").append(SmartKnifeProcessor.PACKAGE_BINDER).append('(')
+                    .append(bindingClass.getPackageBinderIndex()).append(");\n")
+                    .append("      }\n");
+        }
+        builder.append("      return null;\n")
+                .append("    }\n\n")
+                .append("    @Override public Class<?>[] targetClasses() {\n")
+                .append("      return new Class<?>[] {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("          ").append(bindingClass.getTargetClassFullName()).append(".class,\n");
+        }
+        builder.append("      };\n")
+                .append("    }\n")
+                .append("  }\n");
+    }
+
+    /**
+     * {@code case} label of the {@code index}th target in a switch on the binder. The last target
+     * takes the {@code default} branch, since the index only creates binders for valid targets.
+     */
+    private String caseLabel(int index) {
+        return index == bindingClasses.size() - 1 ? "default" : "case " + index;
+    }
+
+    private void emitBindMethod(StringBuilder builder) {
+        builder.append("  @Override public Unbinder bind(Finder finder, Object target, Object source) {\n")
+                .append("    switch (binder) {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("      ").append(caseLabel(bindingClass.getPackageBinderIndex())).append(":\n")
+                    .append("        return ")
+                    .append(BindingClass.getPackageBindMethodName(bindingClass.getClassName()))
+                    .append("(finder, (").append(bindingClass.getTargetClassFullName()).append(") target, source);\n");
+        }
+        builder.append("    }\n")
+                .append("  }\n");
+    }
+
+    private void emitUnbindMethod(StringBuilder builder) {
+        builder.append("  @Override public void unbind(Object target) {\n")
+                .append("    switch (binder) {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("      ").append(caseLabel(bindingClass.getPackageBinderIndex())).append(":\n")
+                    .append("        unbind").append(bindingClass.getClassName()).append("((")
+                    .append(bindingClass.getTargetClassFullName()).append(") target);\n")
+                    .append("        break;\n");
+        }
+        builder.append("    }\n")
+                .append("  }\n");
+    }
+
+    /**
+     * Same as the {@code ViewUnbinder} of a binder class, except that it keeps the views with
+     * listeners in an array and dispatches on the index of its target to reset them.
+     */
+    private void emitUnbinderClass(StringBuilder builder) {
+        builder.append("  static final class ViewUnbinder implements Unbinder, BindCounts {\n")
+                .append("    private static final View[] NO_VIEWS = {};\n\n")
+                .append("    private final int binder;\n")
+                .append("    private Object target;\n")
+                .append("    private Unbinder parent;\n")
+                .append("    int resolved;\n")
+                .append("    int missing;\n")
+                .append("    final View[] views;\n\n")
+                .append("    ViewUnbinder(int binder, Object target, Unbinder parent, int viewCount) {\n")
+                .append("      this.binder = binder;\n")
+                .append("      this.target = target;\n")
+                .append("      this.parent = parent;\n")
+                .append("      views = viewCount == 0 ? NO_VIEWS : new View[viewCount];\n")
+                .append("      if (parent != null) {\n")
+                .append("        resolved = ((BindCounts) parent).viewsResolved();\n")
+                .append("        missing = ((BindCounts) parent).optionalViewsMissing();\n")
+                .append("      }\n")
+                .append("    }\n\n")
+                .append("    @Override public int viewsResolved() {\n")
+                .append("      return resolved;\n")
+                .append("    }\n\n")
+                .append("    @Override public int optionalViewsMissing() {\n")
+                .append("      return missing;\n")
+                .append("    }\n\n")
+                .append("    @Override public void unbind() {\n")
+                .append("      Object target = this.target;\n")
+                .append("      if (target == null) {\n")
+                .append("        throw new IllegalStateException(\"Bindings already cleared.\");\n")
+                .append("      }\n")
+                .append("      this.target = null;\n")
+                .append("      switch (binder) {\n");
+        for (BindingClass bindingClass : bindingClasses) {
+            builder.append("        ").append(caseLabel(bindingClass.getPackageBinderIndex())).append(":\n")
+                    .append("          clear").append(bindingClass.getClassName()).append("((")
+                    .append(bindingClass.getTargetClassFullName()).append(") target, views);\n")
+                    .append("          break;\n");
+        }
+        builder.append("      }\n")
+                .append("      if (parent != null) {\n")
+                .append("        parent.unbind();\n")
+                .append("        parent = null;\n")
+                .append("      }\n")
+                .append("    }\n")
+                .append("  }\n");
+    }
+}
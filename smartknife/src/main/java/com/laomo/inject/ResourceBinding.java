@@ -0,0 +1,26 @@
+package com.laomo.inject;
+
+final class ResourceBinding {
+    private int id;
+    private String name;
+    private String method;
+
+    public ResourceBinding(int id, String name, String method) {
+        this.id = id;
+        this.name = name;
+        this.method = method;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** The {@link ResourceCache} getter that resolves the value. */
+    public String getMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,159 @@
+package com.laomo.inject;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.util.SparseArray;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * DO NOT USE: Exposed for generated code. Memoizes the resources bound by {@link StringInject},
+ * {@link ColorInject}, {@link DimenInject} and {@link DrawableInject} per {@link Context}, so
+ * binding many targets, e.g. list view holders, looks each resource ID up once.
+ * <p>
+ * The cached values are dropped as soon as the configuration of the context's resources changes,
+ * e.g. when an activity that handles its own configuration changes is rotated. Drawables are
+ * cached as their {@link Drawable.ConstantState}, and every target gets its own instance. From
+ * API 21 on they are loaded with the context's theme, and dropped when the context gets another
+ * theme.
+ */
+public final class ResourceCache {
+
+    private static final Map<Context, ResourceCache> CACHES = new WeakHashMap<Context, ResourceCache>();
+    /** Targets are usually bound one after another against the same context. */
+    private static volatile ResourceCache last;
+
+    private final WeakReference<Context> context;
+    private final Resources resources;
+    private Configuration configuration;
+
+    private final SparseArray<String> strings = new SparseArray<String>();
+    private final SparseArray<Integer> colors = new SparseArray<Integer>();
+    private final SparseArray<ColorStateList> colorStateLists = new SparseArray<ColorStateList>();
+    private final SparseArray<Float> dimensions = new SparseArray<Float>();
+    private final SparseArray<Integer> dimensionPixelSizes = new SparseArray<Integer>();
+    private final SparseArray<Drawable.ConstantState> drawables = new SparseArray<Drawable.ConstantState>();
+    /** The theme the cached drawables were loaded with. */
+    private Resources.Theme drawableTheme;
+
+    private ResourceCache(Context context) {
+        this.context = new WeakReference<Context>(context);
+        this.resources = context.getResources();
+        this.configuration = new Configuration(resources.getConfiguration());
+    }
+
+    /** The cache of {@code context}, emptied first if its configuration changed. */
+    public static ResourceCache get(Context context) {
+        ResourceCache cache = last;
+        if (cache == null || cache.context.get() != context) {
+            synchronized (CACHES) {
+                cache = CACHES.get(context);
+                if (cache == null) {
+                    cache = new ResourceCache(context);
+                    CACHES.put(context, cache);
+                }
+            }
+            last = cache;
+        }
+        cache.validate();
+        return cache;
+    }
+
+    private synchronized void validate() {
+        // Resources update their configuration in place, so compare against a copy.
+        Configuration current = resources.getConfiguration();
+        if (!configuration.equals(current)) {
+            configuration = new Configuration(current);
+            strings.clear();
+            colors.clear();
+            colorStateLists.clear();
+            dimensions.clear();
+            dimensionPixelSizes.clear();
+            drawables.clear();
+        }
+    }
+
+    public synchronized String getString(int id) {
+        String value = strings.get(id);
+        if (value == null) {
+            value = resources.getString(id);
+            strings.put(id, value);
+        }
+        return value;
+    }
+
+    public synchronized int getColor(int id) {
+        Integer value = colors.get(id);
+        if (value == null) {
+            value = resources.getColor(id);
+            colors.put(id, value);
+        }
+        return value;
+    }
+
+    public synchronized ColorStateList getColorStateList(int id) {
+        ColorStateList value = colorStateLists.get(id);
+        if (value == null) {
+            value = resources.getColorStateList(id);
+            colorStateLists.put(id, value);
+        }
+        return value;
+    }
+
+    public synchronized float getDimension(int id) {
+        Float value = dimensions.get(id);
+        if (value == null) {
+            value = resources.getDimension(id);
+            dimensions.put(id, value);
+        }
+        return value;
+    }
+
+    public synchronized int getDimensionPixelSize(int id) {
+        Integer value = dimensionPixelSizes.get(id);
+        if (value == null) {
+            value = resources.getDimensionPixelSize(id);
+            dimensionPixelSizes.put(id, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("deprecation") // Resources.getDrawable(int, Theme) needs API 21.
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    public synchronized Drawable getDrawable(int id) {
+        Resources.Theme theme = getTheme();
+        if (theme != drawableTheme) {
+            drawableTheme = theme;
+            drawables.clear();
+        }
+        Drawable.ConstantState state = drawables.get(id);
+        if (state != null) {
+            return theme != null ? state.newDrawable(resources, theme) : state.newDrawable(resources);
+        }
+        Drawable drawable = theme != null ? resources.getDrawable(id, theme) : resources.getDrawable(id);
+        state = drawable.getConstantState();
+        if (state != null) {
+            drawables.put(id, state);
+        }
+        return drawable;
+    }
+
+    /**
+     * The theme of the context, which drawables may take attributes from, or {@code null} before
+     * API 21, where they cannot.
+     */
+    private Resources.Theme getTheme() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return null;
+        }
+        Context context = this.context.get();
+        return context != null ? context.getTheme() : drawableTheme;
+    }
+}
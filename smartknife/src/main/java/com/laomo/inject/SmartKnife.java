@@ -5,18 +5,30 @@ import android.app.Activity;
 import android.app.Dialog;
 import android.content.Context;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Trace;
 import android.util.Log;
 import android.util.Property;
+import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
 
-import java.util.LinkedHashMap;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 public class SmartKnife {
 
     private static final String TAG = SmartKnife.class.getSimpleName();
     private static boolean debug = false;
+    private static volatile MetricsListener metricsListener;
 
     /**
      * DO NOT USE: Exposed for generated code.
@@ -29,6 +41,11 @@ public class SmartKnife {
                 return ((View) source).findViewById(id);
             }
 
+            @Override
+            public View getRoot(Object source) {
+                return (View) source;
+            }
+
             @Override
             public Context getContext(Object source) {
                 return ((View) source).getContext();
@@ -40,6 +57,11 @@ public class SmartKnife {
                 return ((Activity) source).findViewById(id);
             }
 
+            @Override
+            public View getRoot(Object source) {
+                return ((Activity) source).getWindow().getDecorView();
+            }
+
             @Override
             public Context getContext(Object source) {
                 return (Activity) source;
@@ -51,10 +73,41 @@ public class SmartKnife {
                 return ((Dialog) source).findViewById(id);
             }
 
+            @Override
+            public View getRoot(Object source) {
+                return ((Dialog) source).getWindow().getDecorView();
+            }
+
             @Override
             public Context getContext(Object source) {
                 return ((Dialog) source).getContext();
             }
+        },
+        LOOKUP {
+            @Override
+            protected View findView(Object source, int id) {
+                return ((ViewLookup) source).findViewById(id);
+            }
+
+            @Override
+            public View getRoot(Object source) {
+                return ((ViewLookup) source).getRoot();
+            }
+
+            @Override
+            public Context getContext(Object source) {
+                return ((ViewLookup) source).getRoot().getContext();
+            }
+
+            @Override
+            public View[] findViews(Object source, int[] ids) {
+                return ((ViewLookup) source).findViewsById(ids);
+            }
+
+            @Override
+            public ViewLookup getLookup(Object source) {
+                return (ViewLookup) source;
+            }
         };
 
         private static <T> T[] filterNull(T[] views) {
@@ -67,8 +120,8 @@ public class SmartKnife {
             if (newSize == views.length) {
                 return views;
             }
-            //noinspection unchecked
-            T[] newViews = (T[]) new Object[newSize];
+            @SuppressWarnings("unchecked") // The array has the component type of views.
+            T[] newViews = (T[]) Array.newInstance(views.getClass().getComponentType(), newSize);
             int nextIndex = 0;
             for (T view : views) {
                 if (view != null) {
@@ -78,27 +131,42 @@ public class SmartKnife {
             return newViews;
         }
 
+        @SafeVarargs
+        @SuppressWarnings("varargs") // Binders call it with the view types, so the array has the right type.
         public static <T> T[] arrayOf(T... views) {
             return filterNull(views);
         }
 
-//        public static <T> List<T> listOf(T... views) {
-//            return new ImmutableList<T>(filterNull(views));
-//        }
+        @SafeVarargs
+        @SuppressWarnings("varargs") // The list never hands out the array.
+        public static <T> List<T> listOf(T... views) {
+            return new ImmutableList<T>(filterNull(views));
+        }
 
         public <T> T findRequiredView(Object source, int id, String who) {
-            T view = findOptionalView(source, id, who);
+            return checkRequiredView(findView(source, id), source, id, who);
+        }
+
+        public <T> T checkRequiredView(View view, Object source, int id, String who) {
             if (view == null) {
-                String name = getContext(source).getResources().getResourceEntryName(id);
-                throw new IllegalStateException("Required view '"
-                        + name
-                        + "' with ID "
-                        + id
-                        + " for "
-                        + who
-                        + " was not found. If this view is optional add '@Nullable' annotation.");
+                throw missingView(getContext(source), id, who);
             }
-            return view;
+            return castView(view, id, who);
+        }
+
+        /** Resolve all {@code ids} in one traversal of the view tree of {@code source}. */
+        public View[] findViews(Object source, int[] ids) {
+            return new ViewLookup(getRoot(source)).findViewsById(ids);
+        }
+
+        /** The lookup to resolve IDs through, or {@code null} to search the root of {@code source}. */
+        public ViewLookup getLookup(Object source) {
+            return null;
+        }
+
+        /** Resolve {@code id} through {@code lookup} if there is one, else in {@code source}. */
+        public static View findViewById(View source, ViewLookup lookup, int id) {
+            return lookup != null ? lookup.findViewById(id) : source.findViewById(id);
         }
 
         public <T> T findOptionalView(Object source, int id, String who) {
@@ -114,17 +182,55 @@ public class SmartKnife {
                 if (who == null) {
                     throw new AssertionError();
                 }
-                String name = view.getResources().getResourceEntryName(id);
-                throw new IllegalStateException("View '"
-                        + name
-                        + "' with ID "
-                        + id
-                        + " for "
-                        + who
-                        + " was of the wrong type. See cause for more info.", e);
+                throw wrongType(view, id, who, e);
+            }
+        }
+
+        /** A {@link LazyView} that resolves {@code id} in {@code root} on first use. */
+        public static <V> LazyView<V> lazyView(View root, int id, String who, boolean required,
+                                               Class<?> type) {
+            return new LazyView<V>(root, id, who, required, type);
+        }
+
+        /** Begin a trace section, in binders generated with the {@code smartknife.trace} option. */
+        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+        public static void beginSection(String sectionName) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                Trace.beginSection(sectionName);
+            }
+        }
+
+        /** End the trace section of {@link #beginSection}. */
+        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+        public static void endSection() {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                Trace.endSection();
             }
         }
 
+        public static IllegalStateException missingView(Context context, int id, String who) {
+            String name = context.getResources().getResourceEntryName(id);
+            return new IllegalStateException("Required view '"
+                    + name
+                    + "' with ID "
+                    + id
+                    + " for "
+                    + who
+                    + " was not found. If this view is optional add '@Nullable' annotation.");
+        }
+
+        public static IllegalStateException wrongType(View view, int id, String who,
+                                                      ClassCastException cause) {
+            String name = view.getResources().getResourceEntryName(id);
+            return new IllegalStateException("View '"
+                    + name
+                    + "' with ID "
+                    + id
+                    + " for "
+                    + who
+                    + " was of the wrong type. See cause for more info.", cause);
+        }
+
         @SuppressWarnings("unchecked") // That's the point.
         public <T> T castParam(Object value, String from, int fromPosition, String to, int toPosition) {
             try {
@@ -144,15 +250,148 @@ public class SmartKnife {
 
         protected abstract View findView(Object source, int id);
 
+        public abstract View getRoot(Object source);
+
         public abstract Context getContext(Object source);
     }
 
     /** DO NOT USE: Exposed for generated code. */
     public interface ViewBinder<T> {
-        void bind(Finder finder, T target, Object source);
+        Unbinder bind(Finder finder, T target, Object source);
         void unbind(T target);
     }
 
+    /**
+     * DO NOT USE: Exposed for generated code. What one bind call resolved, reported to the
+     * {@link MetricsListener}.
+     */
+    public interface BindCounts {
+        int viewsResolved();
+        int optionalViewsMissing();
+    }
+
+    /**
+     * Receives binding metrics, see {@link #setMetricsListener}. Callbacks run synchronously on the
+     * binding thread, so implementations should only record the values, e.g. into counters.
+     */
+    public interface MetricsListener {
+        /**
+         * A binder was looked up for {@code targetClass}.
+         *
+         * @param cached Whether the binder was already cached; a miss includes loading it.
+         * @param durationNanos Time spent on the lookup.
+         */
+        void onBinderLookup(Class<?> targetClass, boolean cached, long durationNanos);
+
+        /**
+         * An instance of {@code targetClass} was bound, not counting the binder lookup.
+         *
+         * @param viewsResolved View lookups that found a view, including those of superclasses.
+         * @param optionalViewsMissing Lookups of {@code @Nullable} views that found nothing.
+         */
+        void onBind(Class<?> targetClass, long durationNanos, int viewsResolved, int optionalViewsMissing);
+    }
+
+    /**
+     * Releases what one {@code bind()} call set up. Keep it for targets that can outlive their
+     * views, or whose views can outlive them, and call {@link #unbind()} when the target is done
+     * with the views, e.g. in {@code onDestroy} or {@code onDestroyView}.
+     */
+    public interface Unbinder {
+        /**
+         * Detach every listener SmartKnife installed and reset the bound fields to {@code null}.
+         *
+         * @throws IllegalStateException if the bindings were already cleared.
+         */
+        void unbind();
+
+        /** An unbinder for targets without bindings, which does nothing. */
+        Unbinder EMPTY = new Unbinder() {
+            @Override public void unbind() { }
+        };
+    }
+
+    /**
+     * DO NOT USE: Exposed for generated code. Implemented by the index class generated when the
+     * {@code smartknife.index} processor option is set, and by the {@code Index} nested in the
+     * package binders generated when the {@code smartknife.consolidate} option is set.
+     */
+    public interface BinderIndex {
+        /** Create the binder for exactly {@code cls}, or {@code null} if it is not indexed. */
+        ViewBinder<Object> newBinder(Class<?> cls);
+
+        /** All target classes this index can create binders for. */
+        Class<?>[] targetClasses();
+    }
+
+    /** Receives the result of {@link #preload} and {@link #preloadAll}. */
+    public interface PreloadCallback {
+        /**
+         * Called on the executor thread once the binders are cached.
+         *
+         * @param count Number of binders that were loaded, not counting ones already cached.
+         * @param durationNanos Time spent resolving and instantiating them.
+         */
+        void onPreloaded(int count, long durationNanos);
+
+        /**
+         * Called on the executor thread instead of {@link #onPreloaded} if a binder failed to load.
+         * The binders of the other classes are cached all the same.
+         */
+        void onFailed(RuntimeException e);
+    }
+
+    /** Receives the result of {@link #inflateAndBind}. */
+    public interface InflateCallback {
+        /**
+         * Called on the main thread once the target is bound to the inflated view.
+         *
+         * @param view Root of the inflated layout, not attached to the parent yet.
+         * @param unbinder Unbinder returned by the bind.
+         */
+        void onBound(View view, Unbinder unbinder);
+
+        /** Called on the main thread instead of {@link #onBound} if inflating or binding failed. */
+        void onFailed(RuntimeException e);
+    }
+
+    /**
+     * A resolved view binder for one target class, see {@link #binderFor(Class)}. It binds exactly
+     * that class; instances of subclasses with bindings of their own need their own handle.
+     */
+    public static final class TargetBinder<T> {
+        private final ViewBinder<Object> viewBinder;
+
+        TargetBinder(ViewBinder<Object> viewBinder) {
+            this.viewBinder = viewBinder;
+        }
+
+        /** Same as {@link SmartKnife#bind(Object, Activity)} without the binder lookup. */
+        public Unbinder bind(T target, Activity source) {
+            return bindWith(viewBinder, Finder.ACTIVITY, target, source);
+        }
+
+        /** Same as {@link SmartKnife#bind(Object, View)} without the binder lookup. */
+        public Unbinder bind(T target, View source) {
+            return bindWith(viewBinder, Finder.VIEW, target, source);
+        }
+
+        /** Same as {@link SmartKnife#bind(Object, Dialog)} without the binder lookup. */
+        public Unbinder bind(T target, Dialog source) {
+            return bindWith(viewBinder, Finder.DIALOG, target, source);
+        }
+
+        /** Same as {@link SmartKnife#bind(Object, ViewLookup)} without the binder lookup. */
+        public Unbinder bind(T target, ViewLookup source) {
+            return bindWith(viewBinder, Finder.LOOKUP, target, source);
+        }
+
+        /** Same as {@link SmartKnife#unbind(Object)} without the binder lookup. */
+        public void unbind(T target) {
+            viewBinder.unbind(target);
+        }
+    }
+
     /** An action that can be applied to a list of views. */
     public interface Action<T extends View> {
         /** Apply the action on the {@code view} which is at {@code index} in the list. */
@@ -165,10 +404,35 @@ public class SmartKnife {
         void set(T view, V value, int index);
     }
 
-    static final Map<Class<?>, ViewBinder<Object>> INJECTORS =
-            new LinkedHashMap<Class<?>, ViewBinder<Object>>();
+    /** A setter that can apply an {@code int}, e.g. a visibility, to a list of views without boxing. */
+    public interface IntSetter<T extends View> {
+        /** Set the {@code value} on the {@code view} which is at {@code index} in the list. */
+        void set(T view, int value, int index);
+    }
+
+    /** A setter that can apply a {@code float}, e.g. an alpha, to a list of views without boxing. */
+    public interface FloatSetter<T extends View> {
+        /** Set the {@code value} on the {@code view} which is at {@code index} in the list. */
+        void set(T view, float value, int index);
+    }
+
+    /** A setter that can apply a {@code boolean}, e.g. enabled, to a list of views without boxing. */
+    public interface BooleanSetter<T extends View> {
+        /** Set the {@code value} on the {@code view} which is at {@code index} in the list. */
+        void set(T view, boolean value, int index);
+    }
+
+    /**
+     * Binder cache. Reads never lock, so binding is safe from any thread; two threads racing on
+     * the first lookup of a class may both load a binder but only the first one is kept.
+     */
+    static final ConcurrentMap<Class<?>, ViewBinder<Object>> INJECTORS =
+            new ConcurrentHashMap<Class<?>, ViewBinder<Object>>();
+    static final List<BinderIndex> INDEXES = new CopyOnWriteArrayList<BinderIndex>();
     static final ViewBinder<Object> NOP_VIEW_BINDER = new ViewBinder<Object>() {
-        @Override public void bind(Finder finder, Object target, Object source) { }
+        @Override public Unbinder bind(Finder finder, Object target, Object source) {
+            return Unbinder.EMPTY;
+        }
         @Override public void unbind(Object target) { }
     };
 
@@ -177,14 +441,207 @@ public class SmartKnife {
         SmartKnife.debug = debug;
     }
 
+    /**
+     * Report binder lookups and binds to {@code listener}, or stop reporting if it is {@code null}.
+     * Unlike {@link #setDebug debug logging} this does not build strings, and without a listener
+     * it costs a field read per call, so it can stay enabled in release builds.
+     * <p>
+     * Binds through the static helpers of generated binders bypass the listener.
+     */
+    public static void setMetricsListener(MetricsListener listener) {
+        metricsListener = listener;
+    }
+
+    /**
+     * Register a binder index generated by the annotation processor. Binders of indexed classes
+     * are created directly instead of being loaded by name through reflection, which also keeps
+     * them working when the binder classes are shrunk or renamed.
+     * <p>
+     * Call this once, before the first bind, e.g. in {@code Application.onCreate}:
+     * <pre>{@code SmartKnife.addIndex(new MyAppIndex());}</pre>
+     *
+     * @param index Index generated for the {@code smartknife.index} processor option.
+     */
+    public static void addIndex(BinderIndex index) {
+        if (index == null) {
+            throw new NullPointerException("index == null");
+        }
+        INDEXES.add(index);
+    }
+
+    /**
+     * Resolve the view binder of {@code targetClass} once. Keep the returned handle, e.g. in a
+     * static field of a view holder, to bind on hot paths without looking the binder up again:
+     * <pre>{@code
+     * static final TargetBinder<ViewHolder> BINDER = SmartKnife.binderFor(ViewHolder.class);
+     *
+     * ViewHolder(View view) {
+     *     BINDER.bind(this, view);
+     * }
+     * }</pre>
+     *
+     * @param targetClass Class whose instances will be bound.
+     */
+    public static <T> TargetBinder<T> binderFor(Class<T> targetClass) {
+        try {
+            return new TargetBinder<T>(lookupViewBinder(targetClass));
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to find view binder for " + targetClass.getName(), e);
+        }
+    }
+
+    /**
+     * Resolve and cache the view binders of {@code targetClasses} on {@code executor}, so the
+     * first {@code bind()} of those classes does not load them on the calling thread.
+     *
+     * @param executor Executor that does the loading, e.g. a background thread pool.
+     * @param callback Optional callback invoked on the executor when loading is done. Without one,
+     *                 a binder that fails to load is reported by throwing on the executor.
+     * @param targetClasses Classes that will later be passed to {@code bind()}.
+     */
+    public static void preload(Executor executor, final PreloadCallback callback,
+                               Class<?>... targetClasses) {
+        final List<Class<?>> classes = new ArrayList<Class<?>>(targetClasses.length);
+        Collections.addAll(classes, targetClasses);
+        executor.execute(new Runnable() {
+            @Override public void run() {
+                preload(classes, callback);
+            }
+        });
+    }
+
+    /**
+     * Resolve and cache the view binders of every class known to the indexes registered with
+     * {@link #addIndex}, on {@code executor}. That includes the targets of consolidated package
+     * binders, which the index of their module lists.
+     *
+     * @param executor Executor that does the loading, e.g. a background thread pool.
+     * @param callback Optional callback invoked on the executor when loading is done. Without one,
+     *                 a binder that fails to load is reported by throwing on the executor.
+     */
+    public static void preloadAll(Executor executor, final PreloadCallback callback) {
+        executor.execute(new Runnable() {
+            @Override public void run() {
+                List<Class<?>> classes = new ArrayList<Class<?>>();
+                for (BinderIndex index : INDEXES) {
+                    Collections.addAll(classes, index.targetClasses());
+                }
+                preload(classes, callback);
+            }
+        });
+    }
+
+    /**
+     * Inflate {@code layoutRes} and resolve the views of {@code target} on {@code executor}, then
+     * bind {@code target} on the main thread, which is where its listeners are installed. Opening a
+     * screen then leaves only field and listener assignments on the main thread:
+     * <pre>{@code
+     * SmartKnife.inflateAndBind(this, R.layout.details, container, executor,
+     *         new SmartKnife.InflateCallback() {
+     *             @Override public void onBound(View view, SmartKnife.Unbinder unbinder) {
+     *                 container.addView(view);
+     *                 DetailsFragment.this.unbinder = unbinder;
+     *             }
+     *
+     *             @Override public void onFailed(RuntimeException e) {
+     *                 throw e;
+     *             }
+     *         });
+     * }</pre>
+     * The layout is inflated with the layout params of {@code parent} but not attached to it.
+     * Layouts with views that cannot be created off the main thread, e.g. ones that create a
+     * {@code Handler} in their constructor, are inflated on the main thread instead.
+     *
+     * @param target Target class for view binding.
+     * @param layoutRes Layout resource to inflate.
+     * @param parent Parent the view will be added to; its context inflates the layout.
+     * @param executor Executor that does the inflating, e.g. a background thread pool.
+     * @param callback Callback invoked on the main thread with the bound view.
+     */
+    public static void inflateAndBind(final Object target, final int layoutRes, final ViewGroup parent,
+                                      Executor executor, final InflateCallback callback) {
+        final Handler mainThread = new Handler(Looper.getMainLooper());
+        executor.execute(new Runnable() {
+            @Override public void run() {
+                ViewLookup lookup = null;
+                try {
+                    lookup = new ViewLookup(LayoutInflater.from(parent.getContext())
+                            .inflate(layoutRes, parent, false));
+                    lookup.resolveAll();
+                } catch (RuntimeException e) {
+                    if (debug) Log.d(TAG, "Unable to inflate off the main thread: " + e);
+                    lookup = null;
+                }
+                try {
+                    // Load the binder here as well, so the main thread finds it cached.
+                    lookupViewBinder(target.getClass());
+                } catch (Exception e) {
+                    // bind() fails the same way and reports it on the main thread.
+                }
+                final ViewLookup resolved = lookup;
+                mainThread.post(new Runnable() {
+                    @Override public void run() {
+                        ViewLookup source = resolved;
+                        Unbinder unbinder;
+                        try {
+                            if (source == null) {
+                                source = new ViewLookup(LayoutInflater.from(parent.getContext())
+                                        .inflate(layoutRes, parent, false));
+                            }
+                            unbinder = bind(target, source);
+                        } catch (RuntimeException e) {
+                            callback.onFailed(e);
+                            return;
+                        }
+                        callback.onBound(source.getRoot(), unbinder);
+                    }
+                });
+            }
+        });
+    }
+
+    static void preload(List<Class<?>> classes, PreloadCallback callback) {
+        long start = System.nanoTime();
+        int count = 0;
+        RuntimeException failure = null;
+        for (Class<?> targetClass : classes) {
+            if (INJECTORS.containsKey(targetClass)) {
+                continue;
+            }
+            try {
+                if (lookupViewBinder(targetClass) != NOP_VIEW_BINDER) {
+                    count++;
+                }
+            } catch (Exception e) {
+                // Keep loading the others; bind() reports the same failure for this class.
+                if (failure == null) {
+                    failure = new RuntimeException("Unable to preload view binder for " + targetClass.getName(), e);
+                }
+            }
+        }
+        if (failure != null) {
+            if (callback == null) {
+                throw failure;
+            }
+            callback.onFailed(failure);
+            return;
+        }
+        long durationNanos = System.nanoTime() - start;
+        if (debug) Log.d(TAG, "Preloaded " + count + " view binders in " + durationNanos + "ns.");
+        if (callback != null) {
+            callback.onPreloaded(count, durationNanos);
+        }
+    }
+
     /**
      * Inject annotated fields and methods in the specified {@link Activity}. The current content
      * view is used as the view root.
      *
      * @param target Target activity for view binding.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
      */
-    public static void bind(Activity target) {
-        bind(target, target, Finder.ACTIVITY);
+    public static Unbinder bind(Activity target) {
+        return bind(target, target, Finder.ACTIVITY);
     }
 
     /**
@@ -192,9 +649,10 @@ public class SmartKnife {
      * are used as the view root.
      *
      * @param target Target view for view binding.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
      */
-    public static void bind(View target) {
-        bind(target, target, Finder.VIEW);
+    public static Unbinder bind(View target) {
+        return bind(target, target, Finder.VIEW);
     }
 
     /**
@@ -202,9 +660,10 @@ public class SmartKnife {
      * view is used as the view root.
      *
      * @param target Target dialog for view binding.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
      */
-    public static void bind(Dialog target) {
-        bind(target, target, Finder.DIALOG);
+    public static Unbinder bind(Dialog target) {
+        return bind(target, target, Finder.DIALOG);
     }
 
     /**
@@ -213,9 +672,10 @@ public class SmartKnife {
      *
      * @param target Target class for view binding.
      * @param source Activity on which IDs will be looked up.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
      */
-    public static void bind(Object target, Activity source) {
-        bind(target, source, Finder.ACTIVITY);
+    public static Unbinder bind(Object target, Activity source) {
+        return bind(target, source, Finder.ACTIVITY);
     }
 
     /**
@@ -224,9 +684,10 @@ public class SmartKnife {
      *
      * @param target Target class for view binding.
      * @param source View root on which IDs will be looked up.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
      */
-    public static void bind(Object target, View source) {
-        bind(target, source, Finder.VIEW);
+    public static Unbinder bind(Object target, View source) {
+        return bind(target, source, Finder.VIEW);
     }
 
     /**
@@ -235,16 +696,18 @@ public class SmartKnife {
      *
      * @param target Target class for view binding.
      * @param source Dialog on which IDs will be looked up.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
      */
-    public static void bind(Object target, Dialog source) {
-        bind(target, source, Finder.DIALOG);
+    public static Unbinder bind(Object target, Dialog source) {
+        return bind(target, source, Finder.DIALOG);
     }
 
     /**
      * Reset fields annotated with {@link ViewInject @ViewInject} and {@link ViewInject @ViewInject}
      * to {@code null}.
      * <p>
-     * This should only be used in the {@code onDestroyView} method of a fragment.
+     * This should only be used in the {@code onDestroyView} method of a fragment. It does not
+     * detach listeners; prefer the {@link Unbinder} returned by {@code bind()}.
      *
      * @param target Target class for field unbind.
      */
@@ -252,7 +715,7 @@ public class SmartKnife {
         Class<?> targetClass = target.getClass();
         try {
             if (debug) Log.d(TAG, "Looking up view binder for " + targetClass.getName());
-            ViewBinder<Object> viewBinder = findViewBinderForClass(targetClass);
+            ViewBinder<Object> viewBinder = lookupViewBinder(targetClass);
             if (viewBinder != null) {
                 viewBinder.unbind(target);
             }
@@ -261,17 +724,30 @@ public class SmartKnife {
         }
     }
 
-    static void bind(Object target, Object source, Finder finder) {
+    /**
+     * Inject annotated fields and methods in the specified {@code target} using the root of the
+     * {@code source} lookup. IDs already resolved by the lookup are not searched for again.
+     *
+     * @param target Target class for view binding.
+     * @param source Lookup on which IDs will be resolved.
+     * @return Unbinder that detaches the installed listeners and clears the bound fields.
+     */
+    public static Unbinder bind(Object target, ViewLookup source) {
+        return bind(target, source, Finder.LOOKUP);
+    }
+
+    static Unbinder bind(Object target, Object source, Finder finder) {
         Class<?> targetClass = target.getClass();
         try {
             if (debug) Log.d(TAG, "Looking up view binder for " + targetClass.getName());
-            ViewBinder<Object> viewBinder = findViewBinderForClass(targetClass);
+            ViewBinder<Object> viewBinder = lookupViewBinder(targetClass);
             if(debug) {
                 Log.d(TAG, "Looking up view binder for " + viewBinder.toString());
             }
             if (viewBinder != null) {
-                viewBinder.bind(finder, target, source);
+                return bindWith(viewBinder, finder, target, source);
             }
+            return Unbinder.EMPTY;
         } catch (Exception e) {
             if(debug) {
                 Log.d(TAG, e.getMessage()+e.getCause());
@@ -280,29 +756,92 @@ public class SmartKnife {
         }
     }
 
-    private static ViewBinder<Object> findViewBinderForClass(Class<?> cls)
-            throws IllegalAccessException, InstantiationException {
+    private static Unbinder bindWith(ViewBinder<Object> viewBinder, Finder finder, Object target,
+                                     Object source) {
+        MetricsListener listener = metricsListener;
+        if (listener == null) {
+            return viewBinder.bind(finder, target, source);
+        }
+        long start = System.nanoTime();
+        Unbinder unbinder = viewBinder.bind(finder, target, source);
+        long durationNanos = System.nanoTime() - start;
+        if (unbinder instanceof BindCounts) {
+            BindCounts counts = (BindCounts) unbinder;
+            listener.onBind(target.getClass(), durationNanos, counts.viewsResolved(),
+                    counts.optionalViewsMissing());
+        } else {
+            listener.onBind(target.getClass(), durationNanos, 0, 0);
+        }
+        return unbinder;
+    }
+
+    private static ViewBinder<Object> lookupViewBinder(Class<?> cls)
+            throws IllegalAccessException, InstantiationException, NoSuchMethodException,
+            InvocationTargetException {
+        MetricsListener listener = metricsListener;
+        if (listener == null) {
+            return findViewBinderForClass(cls);
+        }
+        long start = System.nanoTime();
+        ViewBinder<Object> viewBinder = INJECTORS.get(cls);
+        boolean cached = viewBinder != null;
+        if (!cached) {
+            viewBinder = findViewBinderForClass(cls);
+        }
+        listener.onBinderLookup(cls, cached, System.nanoTime() - start);
+        return viewBinder;
+    }
+
+    @SuppressWarnings("unchecked") // Binder classes are only ever used for their own target class.
+    static ViewBinder<Object> findViewBinderForClass(Class<?> cls)
+            throws IllegalAccessException, InstantiationException, NoSuchMethodException,
+            InvocationTargetException {
         ViewBinder<Object> viewBinder = INJECTORS.get(cls);
         if (viewBinder != null) {
             if (debug) Log.d(TAG, "HIT: Cached in view binder map.");
             return viewBinder;
         }
-        String clsName = cls.getName();
-        if (clsName.startsWith(SmartKnifeProcessor.ANDROID_PREFIX) || clsName.startsWith(SmartKnifeProcessor.JAVA_PREFIX)) {
+        if (isFrameworkClass(cls)) {
             if (debug) Log.d(TAG, "MISS: Reached framework class. Abandoning search.");
             return NOP_VIEW_BINDER;
         }
-        try {
-            Class<?> viewBindingClass = Class.forName(clsName + SmartKnifeProcessor.SUFFIX);
-            //noinspection unchecked
-            viewBinder = (ViewBinder<Object>) viewBindingClass.newInstance();
-            if (debug) Log.d(TAG, "HIT: Loaded view binder class.");
-        } catch (ClassNotFoundException e) {
-            if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
-            viewBinder = findViewBinderForClass(cls.getSuperclass());
-        }
-        INJECTORS.put(cls, viewBinder);
-        return viewBinder;
+        viewBinder = findIndexedBinder(cls);
+        if (viewBinder != null) {
+            if (debug) Log.d(TAG, "HIT: Created view binder from index.");
+        } else {
+            try {
+                Class<?> viewBindingClass = Class.forName(cls.getName() + SmartKnifeProcessor.SUFFIX);
+                viewBinder = (ViewBinder<Object>) viewBindingClass.getDeclaredConstructor().newInstance();
+                if (debug) Log.d(TAG, "HIT: Loaded view binder class.");
+            } catch (ClassNotFoundException e) {
+                if (debug) Log.d(TAG, "Not found. Trying superclass " + cls.getSuperclass().getName());
+                viewBinder = findViewBinderForClass(cls.getSuperclass());
+            }
+        }
+        ViewBinder<Object> existing = INJECTORS.putIfAbsent(cls, viewBinder);
+        return existing != null ? existing : viewBinder;
+    }
+
+    private static boolean isFrameworkClass(Class<?> cls) {
+        String clsName = cls.getName();
+        return clsName.startsWith(SmartKnifeProcessor.ANDROID_PREFIX)
+                || clsName.startsWith(SmartKnifeProcessor.JAVA_PREFIX);
+    }
+
+    /**
+     * The binder an index has for exactly {@code cls}. Indexes also list the unannotated subclasses
+     * of their targets under the binder they inherit, so those resolve here without loading
+     * classes by name. Classes an index left out, e.g. ones not visible from its package, have
+     * their own binder looked up by name, even if a superclass is indexed.
+     */
+    private static ViewBinder<Object> findIndexedBinder(Class<?> cls) {
+        for (BinderIndex index : INDEXES) {
+            ViewBinder<Object> viewBinder = index.newBinder(cls);
+            if (viewBinder != null) {
+                return viewBinder;
+            }
+        }
+        return null;
     }
 
     /** Apply the specified {@code action} across the {@code list} of views. */
@@ -321,6 +860,8 @@ public class SmartKnife {
 
     /**
      * Apply the specified {@code value} across the {@code list} of views using the {@code property}.
+     * Primitive values are boxed; {@code applyInt}, {@code applyFloat} and {@code applyBoolean}
+     * apply them without boxing.
      */
     @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
     public static <T extends View, V> void apply(List<T> list, Property<? super T, V> setter,
@@ -331,6 +872,76 @@ public class SmartKnife {
         }
     }
 
+    /** Set the {@code value} using the specified {@code setter} across the {@code list} of views. */
+    public static <T extends View> void applyInt(List<T> list, IntSetter<? super T> setter, int value) {
+        for (int i = 0, count = list.size(); i < count; i++) {
+            setter.set(list.get(i), value, i);
+        }
+    }
+
+    /** Set the {@code value} using the specified {@code setter} across the {@code list} of views. */
+    public static <T extends View> void applyFloat(List<T> list, FloatSetter<? super T> setter, float value) {
+        for (int i = 0, count = list.size(); i < count; i++) {
+            setter.set(list.get(i), value, i);
+        }
+    }
+
+    /** Set the {@code value} using the specified {@code setter} across the {@code list} of views. */
+    public static <T extends View> void applyBoolean(List<T> list, BooleanSetter<? super T> setter, boolean value) {
+        for (int i = 0, count = list.size(); i < count; i++) {
+            setter.set(list.get(i), value, i);
+        }
+    }
+
+    /** Apply the specified {@code action} across the {@code array} of views. */
+    public static <T extends View> void apply(T[] array, Action<? super T> action) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            action.apply(array[i], i);
+        }
+    }
+
+    /** Set the {@code value} using the specified {@code setter} across the {@code array} of views. */
+    public static <T extends View, V> void apply(T[] array, Setter<? super T, V> setter, V value) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            setter.set(array[i], value, i);
+        }
+    }
+
+    /** Set the {@code value} using the specified {@code setter} across the {@code array} of views. */
+    public static <T extends View> void applyInt(T[] array, IntSetter<? super T> setter, int value) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            setter.set(array[i], value, i);
+        }
+    }
+
+    /** Set the {@code value} using the specified {@code setter} across the {@code array} of views. */
+    public static <T extends View> void applyFloat(T[] array, FloatSetter<? super T> setter, float value) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            setter.set(array[i], value, i);
+        }
+    }
+
+    /** Set the {@code value} using the specified {@code setter} across the {@code array} of views. */
+    public static <T extends View> void applyBoolean(T[] array, BooleanSetter<? super T> setter, boolean value) {
+        for (int i = 0, count = array.length; i < count; i++) {
+            setter.set(array[i], value, i);
+        }
+    }
+
+    /**
+     * Apply the specified {@code value} across the {@code array} of views using the {@code property}.
+     * Primitive values are boxed; {@code applyInt}, {@code applyFloat} and {@code applyBoolean}
+     * apply them without boxing.
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    public static <T extends View, V> void apply(T[] array, Property<? super T, V> setter,
+                                                 V value) {
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0, count = array.length; i < count; i++) {
+            setter.set(array[i], value);
+        }
+    }
+
     /** Simpler version of {@link View#findViewById(int)} which infers the target type. */
     @SuppressWarnings({ "unchecked", "UnusedDeclaration" }) // Checked by runtime cast. Public API.
     public static <T extends View> T findById(View view, int id) {
@@ -1,13 +1,23 @@
 package com.laomo.inject;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
@@ -15,37 +25,123 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
 import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
 import javax.tools.JavaFileObject;
 
 import static javax.lang.model.element.ElementKind.CLASS;
 import static javax.lang.model.element.ElementKind.INTERFACE;
+import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
+import static javax.tools.Diagnostic.Kind.ERROR;
 import static javax.tools.Diagnostic.Kind.NOTE;
 
 public class SmartKnifeProcessor extends AbstractProcessor {
 
     public static final String SUFFIX = "$$ViewBinder";
+    /** Simple name of the binder generated per package with {@link #OPTION_CONSOLIDATE}. */
+    public static final String PACKAGE_BINDER = "SmartKnife$$Binders";
+    /** Simple name of the {@code BinderIndex} nested in each package binder. */
+    static final String PACKAGE_BINDER_INDEX = "Index";
     public static final String ANDROID_PREFIX = "android.";
     public static final String JAVA_PREFIX = "java.";
     static final String VIEW_TYPE = "android.view.View";
-    static final String ADAPTER_VIEW_TYPE = "android.widget.AdapterView<?>";
+    static final String ADAPTER_VIEW_TYPE = "android.widget.AdapterView";
+    static final String LAZY_VIEW_TYPE = "com.laomo.inject.LazyView";
+    static final String LIST_TYPE = "java.util.List";
+    static final String STRING_TYPE = "java.lang.String";
+    static final String COLOR_STATE_LIST_TYPE = "android.content.res.ColorStateList";
+    static final String DRAWABLE_TYPE = "android.graphics.drawable.Drawable";
     private static final String NULLABLE_ANNOTATION_NAME = "Nullable";
 
+    /** Fully qualified name of a {@link SmartKnife.BinderIndex} to generate for this module. */
+    static final String OPTION_INDEX = "smartknife.index";
+    /** Set to {@code true} to resolve all IDs of a target with one traversal of the view tree. */
+    static final String OPTION_SINGLE_PASS = "smartknife.singlePass";
+    /** Set to {@code true} to print how long each processing round took. */
+    static final String OPTION_TIMING = "smartknife.timing";
+    /** Comma separated {@code res/layout} directories to verify bound IDs against. */
+    static final String OPTION_LAYOUT_DIR = "smartknife.layoutDir";
+    /** Set to {@code true} to build the binder sources of a round on all cores. */
+    static final String OPTION_PARALLEL = "smartknife.parallel";
+    /** Set to {@code true} to write binders that support it as class files instead of source. */
+    static final String OPTION_BYTECODE = "smartknife.bytecode";
+    /** Set to {@code true} to generate one binder class per package instead of one per target. */
+    static final String OPTION_CONSOLIDATE = "smartknife.consolidate";
+    /** Set to {@code true} to wrap each bind and unbind in a trace section named after the target. */
+    static final String OPTION_TRACE = "smartknife.trace";
+    /** Packages of framework views, which layouts name without a package. */
+    private static final String[] VIEW_PACKAGES = { "android.widget.", "android.view.", "android.webkit." };
+
+    // Gradle incremental processing categories, see META-INF/gradle/incremental.annotation.processors.
+    private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+    private static final String GRADLE_AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
     private Elements elementUtils;
+    private Types typeUtils;
+    private boolean singlePass;
+    private boolean timing;
+    private boolean parallel;
+    private boolean bytecode;
+    private boolean consolidate;
+    private boolean trace;
+    private int round;
+
+    /** Per round: for each supertype name, which type elements are subtypes of it. */
+    private Map<String, Map<TypeElement, Boolean>> subtypeCache = new HashMap<>();
+
+    private LayoutIndex layoutIndex;
+    /** R.id constant values to their names, by R.id class. */
+    private Map<String, Map<Integer, String>> idNames = new HashMap<>();
+
+    private BinderIndexClass indexClass;
+    private List<TypeElement> indexedElements = new ArrayList<>();
+    private boolean indexWritten;
+
+    /** Package binders of all rounds; a package only gets one, later targets get classes of their own. */
+    private Set<String> packageBinders = new LinkedHashSet<>();
 
     @Override
     public synchronized void init(ProcessingEnvironment env) {
         super.init(env);
         elementUtils = env.getElementUtils();
+        typeUtils = env.getTypeUtils();
+        String indexName = env.getOptions().get(OPTION_INDEX);
+        if (indexName != null && !indexName.isEmpty()) {
+            indexClass = new BinderIndexClass(indexName);
+        }
+        singlePass = Boolean.parseBoolean(env.getOptions().get(OPTION_SINGLE_PASS));
+        timing = Boolean.parseBoolean(env.getOptions().get(OPTION_TIMING));
+        parallel = Boolean.parseBoolean(env.getOptions().get(OPTION_PARALLEL));
+        bytecode = Boolean.parseBoolean(env.getOptions().get(OPTION_BYTECODE));
+        consolidate = Boolean.parseBoolean(env.getOptions().get(OPTION_CONSOLIDATE));
+        trace = Boolean.parseBoolean(env.getOptions().get(OPTION_TRACE));
+        if (consolidate && indexClass == null) {
+            // SmartKnife finds package binders only through the index that the app registers.
+            env.getMessager().printMessage(ERROR,
+                    String.format("%s needs %s.", OPTION_CONSOLIDATE, OPTION_INDEX));
+        }
+        String layoutDir = env.getOptions().get(OPTION_LAYOUT_DIR);
+        if (layoutDir != null && !layoutDir.isEmpty()) {
+            try {
+                layoutIndex = LayoutIndex.read(layoutDir);
+            } catch (Exception e) {
+                error(null, "Unable to read layouts in %s, binding with checks: %s", layoutDir, e.getMessage());
+            }
+        }
     }
 
     @Override
@@ -57,41 +153,345 @@ public class SmartKnifeProcessor extends AbstractProcessor {
     public Set<String> getSupportedAnnotationTypes() {
         Set<String> types = new LinkedHashSet<>();
         types.add(ViewInject.class.getCanonicalName());
+        types.add(ViewsInject.class.getCanonicalName());
+        types.add(StringInject.class.getCanonicalName());
+        types.add(ColorInject.class.getCanonicalName());
+        types.add(DimenInject.class.getCanonicalName());
+        types.add(DrawableInject.class.getCanonicalName());
+        types.add(OnClick.class.getCanonicalName());
         return types;
     }
 
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> options = new LinkedHashSet<>();
+        options.add(OPTION_INDEX);
+        options.add(OPTION_SINGLE_PASS);
+        options.add(OPTION_TIMING);
+        options.add(OPTION_LAYOUT_DIR);
+        options.add(OPTION_PARALLEL);
+        options.add(OPTION_BYTECODE);
+        options.add(OPTION_CONSOLIDATE);
+        options.add(OPTION_TRACE);
+        // Each binder only depends on its own target and that target's supertypes, and is written
+        // with the target as its single originating element. The index and package binders depend
+        // on all targets. Gradle cannot track the layout files, so verifying layouts is not incremental.
+        if (layoutIndex == null) {
+            options.add(indexClass == null && !consolidate ? GRADLE_ISOLATING : GRADLE_AGGREGATING);
+        }
+        return options;
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
 
+        long start = System.nanoTime();
+        // Elements are only valid within a round.
+        subtypeCache.clear();
         Map<TypeElement, BindingClass> bindMap = findAndParseTargets(env);
-        for (TypeElement key : bindMap.keySet()) {
-            BindingClass bindingClass = bindMap.get(key);
+        long parsed = System.nanoTime();
+        List<TypeElement> keys = sortByName(bindMap.keySet());
+        List<TypeElement> sourceKeys = new ArrayList<>();
+        List<TypeElement> classFileKeys = new ArrayList<>();
+        Map<String, List<TypeElement>> packageKeys = new LinkedHashMap<>();
+        for (TypeElement key : keys) {
+            String packageBinder = bindMap.get(key).getPackageBinderClassName();
+            if (packageBinder != null) {
+                List<TypeElement> targets = packageKeys.get(packageBinder);
+                if (targets == null) {
+                    targets = new ArrayList<>();
+                    packageKeys.put(packageBinder, targets);
+                }
+                targets.add(key);
+            } else if (bytecode && bindMap.get(key).canGenerateClassFiles()) {
+                classFileKeys.add(key);
+            } else {
+                sourceKeys.add(key);
+            }
+        }
+        List<String> sources = generateAll(sourceTasks(sourceKeys, bindMap));
+        List<Map<String, byte[]>> classFiles = generateAll(classFileTasks(classFileKeys, bindMap));
+        List<String> packageSources = generateAll(packageBinderTasks(packageKeys, bindMap));
+        long generated = System.nanoTime();
+        for (int i = 0; i < sourceKeys.size(); i++) {
+            TypeElement key = sourceKeys.get(i);
             try {
                 JavaFileObject jfo = processingEnv.getFiler().createSourceFile(
-                        bindingClass.getBinderClassFullName(), key);
+                        bindMap.get(key).getBinderClassFullName(), key);
                 Writer writer = jfo.openWriter();
-                writer.write(bindingClass.generateJavaCode());
+                writer.write(sources.get(i));
                 writer.flush();
                 writer.close();
             } catch (IOException e) {
                 error(key, "Unable to write injector for type %s: %s",
                         key, e.getMessage());
             }
-
+        }
+        for (int i = 0; i < classFileKeys.size(); i++) {
+            TypeElement key = classFileKeys.get(i);
+            try {
+                for (Map.Entry<String, byte[]> classFile : classFiles.get(i).entrySet()) {
+                    JavaFileObject jfo = processingEnv.getFiler().createClassFile(classFile.getKey(), key);
+                    OutputStream out = jfo.openOutputStream();
+                    out.write(classFile.getValue());
+                    out.close();
+                }
+            } catch (IOException e) {
+                error(key, "Unable to write injector for type %s: %s",
+                        key, e.getMessage());
+            }
+        }
+        int packageIndex = 0;
+        for (Map.Entry<String, List<TypeElement>> entry : packageKeys.entrySet()) {
+            List<TypeElement> targets = entry.getValue();
+            try {
+                Element[] originatingElements = targets.toArray(new Element[targets.size()]);
+                JavaFileObject jfo = processingEnv.getFiler().createSourceFile(entry.getKey(),
+                        originatingElements);
+                Writer writer = jfo.openWriter();
+                writer.write(packageSources.get(packageIndex++));
+                writer.flush();
+                writer.close();
+            } catch (IOException e) {
+                error(targets.get(0), "Unable to write package binder %s: %s",
+                        entry.getKey(), e.getMessage());
+            }
+        }
+        if (indexClass != null) {
+            for (TypeElement key : keys) {
+                addToIndex(key, bindMap.get(key));
+            }
+        }
+        if (indexClass != null && !indexWritten) {
+            addSubclassesToIndex(env, bindMap);
+            writeIndex();
+            indexWritten = true;
+        }
+        round++;
+        if (timing) {
+            long written = System.nanoTime();
+            note("SmartKnife round %d: %d binders, parsed in %d ms, generated in %d ms, written in %d ms.",
+                    round, bindMap.size(), (parsed - start) / 1000000, (generated - parsed) / 1000000,
+                    (written - generated) / 1000000);
         }
         return true;
     }
 
+    private static List<Callable<String>> sourceTasks(List<TypeElement> keys,
+                                                      Map<TypeElement, BindingClass> bindMap) {
+        List<Callable<String>> tasks = new ArrayList<>(keys.size());
+        for (TypeElement key : keys) {
+            final BindingClass bindingClass = bindMap.get(key);
+            tasks.add(new Callable<String>() {
+                @Override public String call() {
+                    return bindingClass.generateJavaCode();
+                }
+            });
+        }
+        return tasks;
+    }
+
+    private static List<Callable<Map<String, byte[]>>> classFileTasks(List<TypeElement> keys,
+                                                                     Map<TypeElement, BindingClass> bindMap) {
+        List<Callable<Map<String, byte[]>>> tasks = new ArrayList<>(keys.size());
+        for (TypeElement key : keys) {
+            final BindingClass bindingClass = bindMap.get(key);
+            tasks.add(new Callable<Map<String, byte[]>>() {
+                @Override public Map<String, byte[]> call() {
+                    return bindingClass.generateClassFiles();
+                }
+            });
+        }
+        return tasks;
+    }
+
+    private static List<Callable<String>> packageBinderTasks(Map<String, List<TypeElement>> packageKeys,
+                                                             Map<TypeElement, BindingClass> bindMap) {
+        List<Callable<String>> tasks = new ArrayList<>(packageKeys.size());
+        for (List<TypeElement> keys : packageKeys.values()) {
+            final PackageBinderClass packageBinderClass = new PackageBinderClass(
+                    bindMap.get(keys.get(0)).getPackageName());
+            for (TypeElement key : keys) {
+                packageBinderClass.addBindingClass(bindMap.get(key));
+            }
+            tasks.add(new Callable<String>() {
+                @Override public String call() {
+                    return packageBinderClass.generateJavaCode();
+                }
+            });
+        }
+        return tasks;
+    }
+
+    /**
+     * The results of {@code tasks}, in the same order. With {@link #OPTION_PARALLEL} they run on a
+     * fork-join pool; that is safe because {@link BindingClass} only holds strings and ints, while
+     * the {@code Filer} and the element utilities, which are not thread safe, stay on the
+     * processor thread.
+     */
+    private <T> List<T> generateAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (!parallel || tasks.size() < 2) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unable to generate binders", e);
+                }
+            }
+            return results;
+        }
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            for (Future<T> result : pool.invokeAll(tasks)) {
+                results.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating binders", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to generate binders", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * Binders are written, and added to the index, in name order rather than in the order the
+     * build tool happened to pass the sources, so repeated builds produce identical output.
+     */
+    private static List<TypeElement> sortByName(Collection<TypeElement> types) {
+        List<TypeElement> sorted = new ArrayList<>(types);
+        Collections.sort(sorted, new Comparator<TypeElement>() {
+            @Override public int compare(TypeElement a, TypeElement b) {
+                return a.getQualifiedName().toString().compareTo(b.getQualifiedName().toString());
+            }
+        });
+        return sorted;
+    }
+
+    private void addToIndex(TypeElement key, BindingClass bindingClass) {
+        if (indexWritten) {
+            error(key, "%s was generated after index %s was written, falling back to reflection.",
+                    key.getQualifiedName(), indexClass.getIndexClassFullName());
+        } else if (!isVisibleFrom(key, indexClass.getPackageName())) {
+            if (bindingClass.getPackageBinderClassName() != null) {
+                indexClass.addPackageBinder(bindingClass.getPackageBinderClassName());
+                indexedElements.add(key);
+            } else {
+                error(key, "%s is not visible from index %s, falling back to reflection.",
+                        key.getQualifiedName(), indexClass.getIndexClassFullName());
+            }
+        } else {
+            indexClass.addBindingClass(bindingClass);
+            indexedElements.add(key);
+        }
+    }
+
+    /**
+     * Index the classes of this round that have no bindings of their own under the binder of their
+     * nearest superclass with bindings, so that they resolve without walking their superclasses.
+     */
+    private void addSubclassesToIndex(RoundEnvironment env, Map<TypeElement, BindingClass> bindMap) {
+        List<TypeElement> types = new ArrayList<>();
+        collectClasses(env.getRootElements(), types);
+        for (TypeElement type : sortByName(types)) {
+            if (bindMap.containsKey(type) || type.getModifiers().contains(ABSTRACT)
+                    || !isVisibleFrom(type, indexClass.getPackageName())) {
+                continue;
+            }
+            String newBinderExpression = getInheritedBinderExpression(type, bindMap);
+            if (newBinderExpression != null) {
+                indexClass.addSubclass(type.getQualifiedName().toString(), newBinderExpression);
+                indexedElements.add(type);
+            }
+        }
+    }
+
+    private static void collectClasses(Collection<? extends Element> elements, List<TypeElement> classes) {
+        for (Element element : elements) {
+            if (element.getKind() == CLASS) {
+                classes.add((TypeElement) element);
+                collectClasses(element.getEnclosedElements(), classes);
+            }
+        }
+    }
+
+    /**
+     * Expression that creates the binder of the nearest superclass of {@code type} with bindings,
+     * or {@code null} if there is none or the index cannot create it.
+     */
+    private String getInheritedBinderExpression(TypeElement type, Map<TypeElement, BindingClass> bindMap) {
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superElement = (TypeElement) typeUtils.asElement(superclass);
+            String qualifiedName = superElement.getQualifiedName().toString();
+            if (qualifiedName.startsWith(ANDROID_PREFIX) || qualifiedName.startsWith(JAVA_PREFIX)) {
+                return null;
+            }
+            BindingClass parent = bindMap.get(superElement);
+            if (parent != null) {
+                return indexClass.contains(parent) ? parent.getNewBinderExpression() : null;
+            }
+            String packageName = elementUtils.getPackageOf(superElement).getQualifiedName().toString();
+            String binderClassName = packageName + "." + getClassName(superElement, packageName) + SUFFIX;
+            if (elementUtils.getTypeElement(binderClassName) != null) {
+                return "new " + binderClassName + "()";
+            }
+            if (hasPackageBindMethod(packageName + "." + PACKAGE_BINDER, getClassName(superElement, packageName))) {
+                return null;
+            }
+            superclass = superElement.getSuperclass();
+        }
+        return null;
+    }
+
+    private void writeIndex() {
+        try {
+            JavaFileObject jfo = processingEnv.getFiler().createSourceFile(
+                    indexClass.getIndexClassFullName(),
+                    indexedElements.toArray(new Element[indexedElements.size()]));
+            Writer writer = jfo.openWriter();
+            writer.write(indexClass.generateJavaCode());
+            writer.flush();
+            writer.close();
+        } catch (IOException e) {
+            error(null, "Unable to write binder index %s: %s",
+                    indexClass.getIndexClassFullName(), e.getMessage());
+        }
+    }
+
     private Map<TypeElement, BindingClass> findAndParseTargets(RoundEnvironment env) {
 
-        Map<TypeElement, BindingClass> bindMap = new HashMap<>();
+        Map<TypeElement, BindingClass> bindMap = new LinkedHashMap<>();
 
         for (Element element : env.getElementsAnnotatedWith(ViewInject.class)) {
             boolean hasError = false;
             TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+            ViewInject viewInject = element.getAnnotation(ViewInject.class);
 
-            // Verify that the target type extends from View.
+            // Lazy fields hold a LazyView<V>, whose V is verified like the type of other fields.
             TypeMirror elementType = element.asType();
+            if (viewInject.lazy()) {
+                elementType = getLazyViewType(elementType);
+                if (elementType == null) {
+                    error(element, "@%s(lazy = true) fields must be of type LazyView<V>. (%s.%s)",
+                            ViewInject.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                            element.getSimpleName());
+                    continue;
+                }
+                if (viewInject.click() || viewInject.itemClick()) {
+                    error(element, "@%s(lazy = true) fields cannot set click or itemClick. (%s.%s)",
+                            ViewInject.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                            element.getSimpleName());
+                    hasError = true;
+                }
+            }
+
+            // Verify that the target type extends from View.
             if (elementType.getKind() == TypeKind.TYPEVAR) {
                 TypeVariable typeVariable = (TypeVariable) elementType;
                 elementType = typeVariable.getUpperBound();
@@ -110,33 +510,445 @@ public class SmartKnifeProcessor extends AbstractProcessor {
                 continue;
             }
 
-            ViewInject viewInject = element.getAnnotation(ViewInject.class);
             int id = viewInject.id();
             boolean click = viewInject.click();
             boolean itemClick = viewInject.itemClick();
             boolean required = isRequiredInjection(element);
 
-            PackageElement packageElement = elementUtils.getPackageOf(enclosingElement);
-            String packageName = packageElement.getQualifiedName().toString();
-
-            String className = getClassName(enclosingElement, packageName);
             String fieldName = element.getSimpleName().toString();
-            String fieldType = element.asType().toString();
+            TypeMirror erasure = typeUtils.erasure(elementType);
+            String fieldType = erasure.toString();
 
             if (itemClick) {
                 itemClick = isSubtypeOfType(element.asType(), ADAPTER_VIEW_TYPE);
             }
-            BindingClass bindingClass = bindMap.get(enclosingElement);
-            if (bindingClass == null) {
-                bindingClass = new BindingClass(packageName, className);
-                bindMap.put(enclosingElement, bindingClass);
+            BindingClass bindingClass = getOrCreateTargetClass(bindMap, enclosingElement);
+            ViewBinding viewBinding = new ViewBinding(id, fieldName, fieldType, click, itemClick,
+                    required, viewInject.lazy());
+            viewBinding.setBinaryType(elementUtils.getBinaryName(
+                    (TypeElement) typeUtils.asElement(erasure)).toString());
+            bindingClass.addViewBinding(viewBinding);
+        }
+
+        for (Element element : env.getElementsAnnotatedWith(ViewsInject.class)) {
+            parseViewsInject(element, bindMap);
+        }
+
+        // Each resource annotation lists its field types, each followed by its ResourceCache getter.
+        for (Element element : env.getElementsAnnotatedWith(StringInject.class)) {
+            parseResourceInject(element, StringInject.class, element.getAnnotation(StringInject.class).id(),
+                    bindMap, STRING_TYPE, "getString");
+        }
+        for (Element element : env.getElementsAnnotatedWith(ColorInject.class)) {
+            parseResourceInject(element, ColorInject.class, element.getAnnotation(ColorInject.class).id(),
+                    bindMap, "int", "getColor", COLOR_STATE_LIST_TYPE, "getColorStateList");
+        }
+        for (Element element : env.getElementsAnnotatedWith(DimenInject.class)) {
+            parseResourceInject(element, DimenInject.class, element.getAnnotation(DimenInject.class).id(),
+                    bindMap, "int", "getDimensionPixelSize", "float", "getDimension");
+        }
+        for (Element element : env.getElementsAnnotatedWith(DrawableInject.class)) {
+            parseResourceInject(element, DrawableInject.class, element.getAnnotation(DrawableInject.class).id(),
+                    bindMap, DRAWABLE_TYPE, "getDrawable");
+        }
+
+        for (Element element : env.getElementsAnnotatedWith(OnClick.class)) {
+            parseOnClick(element, bindMap);
+        }
+
+        if (consolidate) {
+            assignPackageBinders(bindMap);
+        }
+        // Chain each binder to the binder of its nearest annotated superclass.
+        for (Map.Entry<TypeElement, BindingClass> entry : bindMap.entrySet()) {
+            setParentBinder(entry.getKey(), entry.getValue(), bindMap);
+            if (layoutIndex != null) {
+                entry.getValue().setTrusted(isVerifiedByLayouts(entry.getKey(), entry.getValue()));
             }
-            bindingClass.putViewInfo(id,
-                    new ViewBinding(id, fieldName, fieldType, click, itemClick, required));
         }
         return bindMap;
     }
 
+    /**
+     * Whether every layout that declares one of the IDs {@code bindingClass} resolves declares all
+     * of them, each with a view that can be assigned to the fields it is bound to. Any of those
+     * layouts may be the one the target is bound to, so one that lacks an ID, or has a view of
+     * another or an unknown class, makes the binder keep its runtime checks, as do IDs that are
+     * not declared at all, e.g. because they are created in code. Only an ID that no layout
+     * declares with a compatible view fails the build.
+     */
+    private boolean isVerifiedByLayouts(TypeElement type, BindingClass bindingClass) {
+        Map<Integer, String> names = getIdNames(type);
+        boolean verified = true;
+        // Layouts that declare any of the IDs, and those that declare every ID so far compatibly.
+        Set<String> declaringLayouts = new LinkedHashSet<>();
+        Set<String> layouts = null;
+        for (Map.Entry<Integer, Set<String>> entry : bindingClass.getViewTypes().entrySet()) {
+            String name = names.get(entry.getKey());
+            List<LayoutIndex.Declaration> declarations = name == null ? null : layoutIndex.getDeclarations(name);
+            if (declarations == null) {
+                if (name != null) {
+                    error(type, "R.id.%s is not declared in any layout, keeping runtime checks. (%s)",
+                            name, type.getQualifiedName());
+                }
+                verified = false;
+                continue;
+            }
+            Set<String> verifiedLayouts = new LinkedHashSet<>();
+            Set<String> unverifiedLayouts = new LinkedHashSet<>();
+            List<String> mismatches = new ArrayList<>();
+            boolean unknownView = false;
+            for (LayoutIndex.Declaration declaration : declarations) {
+                declaringLayouts.add(declaration.getLayout());
+                TypeElement viewElement = getViewElement(declaration.getViewClass());
+                if (viewElement == null) {
+                    unverifiedLayouts.add(declaration.getLayout());
+                    unknownView = true;
+                    continue;
+                }
+                TypeMirror viewType = typeUtils.erasure(viewElement.asType());
+                String mismatch = null;
+                for (String boundType : entry.getValue()) {
+                    TypeElement boundElement = elementUtils.getTypeElement(boundType);
+                    if (boundElement != null
+                            && !typeUtils.isAssignable(viewType, typeUtils.erasure(boundElement.asType()))) {
+                        mismatch = String.format("R.id.%s is a %s in %s, which cannot be bound as %s", name,
+                                declaration.getViewClass(), declaration.getLayout(), boundType);
+                    }
+                }
+                if (mismatch == null) {
+                    verifiedLayouts.add(declaration.getLayout());
+                } else {
+                    mismatches.add(mismatch);
+                    unverifiedLayouts.add(declaration.getLayout());
+                }
+            }
+            if (!mismatches.isEmpty()) {
+                if (verifiedLayouts.isEmpty() && !unknownView) {
+                    // Not one layout declares a view the field can hold, so the bind can only fail.
+                    fail(type, "%s. (%s)", mismatches.get(0), type.getQualifiedName());
+                } else {
+                    error(type, "%s, keeping runtime checks. (%s)", mismatches.get(0), type.getQualifiedName());
+                }
+            }
+            verifiedLayouts.removeAll(unverifiedLayouts);
+            if (layouts == null) {
+                layouts = verifiedLayouts;
+            } else {
+                layouts.retainAll(verifiedLayouts);
+            }
+        }
+        return verified && (layouts == null || layouts.containsAll(declaringLayouts));
+    }
+
+    /** The class of a view tag in a layout, or {@code null} if it is unknown. */
+    private TypeElement getViewElement(String viewClass) {
+        if (viewClass == null) {
+            return null;
+        }
+        if (viewClass.indexOf('.') >= 0) {
+            return elementUtils.getTypeElement(viewClass.replace('$', '.'));
+        }
+        for (String viewPackage : VIEW_PACKAGES) {
+            TypeElement viewElement = elementUtils.getTypeElement(viewPackage + viewClass);
+            if (viewElement != null) {
+                return viewElement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The names of the constants in the {@code R.id} of the package of {@code type}, or of the
+     * nearest enclosing package that has one.
+     */
+    private Map<Integer, String> getIdNames(TypeElement type) {
+        String packageName = elementUtils.getPackageOf(type).getQualifiedName().toString();
+        while (true) {
+            String idClassName = packageName.isEmpty() ? "R.id" : packageName + ".R.id";
+            Map<Integer, String> names = idNames.get(idClassName);
+            if (names != null) {
+                return names;
+            }
+            TypeElement idClass = elementUtils.getTypeElement(idClassName);
+            if (idClass != null) {
+                names = new HashMap<>();
+                for (Element element : idClass.getEnclosedElements()) {
+                    Object value = element instanceof VariableElement
+                            ? ((VariableElement) element).getConstantValue() : null;
+                    if (value instanceof Integer) {
+                        names.put((Integer) value, element.getSimpleName().toString());
+                    }
+                }
+                idNames.put(idClassName, names);
+                return names;
+            }
+            if (packageName.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            int lastDot = packageName.lastIndexOf('.');
+            packageName = lastDot < 0 ? "" : packageName.substring(0, lastDot);
+        }
+    }
+
+    /**
+     * Put the targets of each package into one package binder, in name order. Packages that got
+     * one in an earlier round keep it as it is; their new targets get binder classes of their own.
+     */
+    private void assignPackageBinders(Map<TypeElement, BindingClass> bindMap) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (TypeElement key : sortByName(bindMap.keySet())) {
+            BindingClass bindingClass = bindMap.get(key);
+            String packageBinder = bindingClass.getPackageName() + "." + PACKAGE_BINDER;
+            Integer count = counts.get(packageBinder);
+            if (count == null) {
+                if (!packageBinders.add(packageBinder)) {
+                    continue;
+                }
+                count = 0;
+            }
+            bindingClass.setPackageBinder(packageBinder, count);
+            counts.put(packageBinder, count + 1);
+        }
+    }
+
+    /**
+     * Chain {@code bindingClass} to the binder of the nearest superclass of {@code type} that has
+     * bindings, either generated in this round or already compiled, e.g. in a library.
+     */
+    private void setParentBinder(TypeElement type, BindingClass bindingClass,
+                                 Map<TypeElement, BindingClass> bindMap) {
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superElement = (TypeElement) typeUtils.asElement(superclass);
+            String qualifiedName = superElement.getQualifiedName().toString();
+            if (qualifiedName.startsWith(ANDROID_PREFIX) || qualifiedName.startsWith(JAVA_PREFIX)) {
+                return;
+            }
+            String packageName = elementUtils.getPackageOf(superElement).getQualifiedName().toString();
+            String className = getClassName(superElement, packageName);
+            String packageBinder = packageName + "." + PACKAGE_BINDER;
+            BindingClass parent = bindMap.get(superElement);
+            if (parent != null && parent.getPackageBinderClassName() == null) {
+                bindingClass.setParentBinder(parent.getBinderClassFullName());
+                return;
+            }
+            if (parent == null && elementUtils.getTypeElement(packageName + "." + className + SUFFIX) != null) {
+                bindingClass.setParentBinder(packageName + "." + className + SUFFIX);
+                return;
+            }
+            if (parent != null || hasPackageBindMethod(packageBinder, className)) {
+                // Binder classes call the parent's static methods, as there is no binder class to extend.
+                bindingClass.setParentPackageBinder(packageBinder, className);
+                return;
+            }
+            superclass = superElement.getSuperclass();
+        }
+    }
+
+    /** Whether the already compiled {@code packageBinder} has the bind methods of {@code className}. */
+    private boolean hasPackageBindMethod(String packageBinder, String className) {
+        TypeElement packageBinderElement = elementUtils.getTypeElement(packageBinder);
+        if (packageBinderElement == null) {
+            return false;
+        }
+        String bindMethod = BindingClass.getPackageBindMethodName(className);
+        for (Element member : packageBinderElement.getEnclosedElements()) {
+            if (member.getSimpleName().contentEquals(bindMethod)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void parseViewsInject(Element element, Map<TypeElement, BindingClass> bindMap) {
+        TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+        // Verify common generated code restrictions.
+        boolean hasError = isInaccessibleViaGeneratedCode(ViewsInject.class, "fields", element);
+        hasError |= isBindingInWrongPackage(ViewsInject.class, element);
+
+        // Verify that the field is an array or a List of views.
+        TypeMirror elementType = element.asType();
+        TypeMirror viewType = null;
+        boolean list = false;
+        if (elementType.getKind() == TypeKind.ARRAY) {
+            viewType = ((ArrayType) elementType).getComponentType();
+        } else if (elementType.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) elementType;
+            List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+            if (((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(LIST_TYPE)
+                    && typeArguments.size() == 1) {
+                viewType = typeArguments.get(0);
+                if (viewType.getKind() == TypeKind.WILDCARD) {
+                    viewType = ((WildcardType) viewType).getExtendsBound();
+                }
+                list = true;
+            }
+        }
+        if (viewType == null) {
+            error(element, "@%s fields must be a List or an array. (%s.%s)",
+                    ViewsInject.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+            return;
+        }
+        if (viewType.getKind() == TypeKind.TYPEVAR) {
+            viewType = ((TypeVariable) viewType).getUpperBound();
+        }
+        if (!isSubtypeOfType(viewType, VIEW_TYPE) && !isInterface(viewType)) {
+            error(element, "@%s List or array type must extend from View or be an interface. (%s.%s)",
+                    ViewsInject.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+            hasError = true;
+        }
+
+        int[] ids = element.getAnnotation(ViewsInject.class).id();
+        if (ids.length == 0) {
+            error(element, "@%s must specify at least one ID. (%s.%s)",
+                    ViewsInject.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+            hasError = true;
+        }
+        Set<Integer> seenIds = new LinkedHashSet<>();
+        for (int id : ids) {
+            if (!seenIds.add(id)) {
+                error(element, "@%s annotation contains duplicate ID %d. (%s.%s)",
+                        ViewsInject.class.getSimpleName(), id, enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                hasError = true;
+            }
+        }
+
+        if (hasError) {
+            return;
+        }
+
+        BindingClass bindingClass = getOrCreateTargetClass(bindMap, enclosingElement);
+        bindingClass.addViewsBinding(new ViewsBinding(ids, element.getSimpleName().toString(),
+                typeUtils.erasure(viewType).toString(), list, isRequiredInjection(element)));
+    }
+
+    /**
+     * @param typesAndMethods Pairs of a supported field type and the {@link ResourceCache} method
+     *                        that resolves it.
+     */
+    private void parseResourceInject(Element element, Class<? extends Annotation> annotationClass, int id,
+                                     Map<TypeElement, BindingClass> bindMap, String... typesAndMethods) {
+        TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+        // Verify common generated code restrictions.
+        boolean hasError = isInaccessibleViaGeneratedCode(annotationClass, "fields", element);
+        hasError |= isBindingInWrongPackage(annotationClass, element);
+
+        // Verify that the field has a type the resource can be bound to.
+        String fieldType = element.asType().toString();
+        String method = null;
+        StringBuilder supportedTypes = new StringBuilder();
+        for (int i = 0; i < typesAndMethods.length; i += 2) {
+            if (typesAndMethods[i].equals(fieldType)) {
+                method = typesAndMethods[i + 1];
+            }
+            supportedTypes.append(i == 0 ? "" : " or ").append(typesAndMethods[i]);
+        }
+        if (method == null) {
+            error(element, "@%s field type must be %s. (%s.%s)",
+                    annotationClass.getSimpleName(), supportedTypes, enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+            hasError = true;
+        }
+
+        if (hasError) {
+            return;
+        }
+
+        BindingClass bindingClass = getOrCreateTargetClass(bindMap, enclosingElement);
+        bindingClass.addResourceBinding(new ResourceBinding(id, element.getSimpleName().toString(), method));
+    }
+
+    private void parseOnClick(Element element, Map<TypeElement, BindingClass> bindMap) {
+        TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+        ExecutableElement executableElement = (ExecutableElement) element;
+
+        // Verify common generated code restrictions.
+        boolean hasError = isInaccessibleViaGeneratedCode(OnClick.class, "methods", element);
+        hasError |= isBindingInWrongPackage(OnClick.class, element);
+
+        // Verify that the method takes nothing or the clicked view.
+        String parameterType = null;
+        List<? extends VariableElement> parameters = executableElement.getParameters();
+        if (parameters.size() > 1) {
+            fail(element, "@%s methods can have at most one parameter. (%s.%s)",
+                    OnClick.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+            hasError = true;
+        } else if (parameters.size() == 1) {
+            TypeMirror type = parameters.get(0).asType();
+            if (!isSubtypeOfType(type, VIEW_TYPE) && !isInterface(type)) {
+                fail(element, "@%s method parameter must extend from View or be an interface. (%s.%s)",
+                        OnClick.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                hasError = true;
+            } else {
+                parameterType = typeUtils.erasure(type).toString();
+            }
+        }
+
+        OnClick onClick = element.getAnnotation(OnClick.class);
+        int[] ids = onClick.id();
+        if (ids.length == 0) {
+            fail(element, "@%s must specify at least one ID. (%s.%s)",
+                    OnClick.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                    element.getSimpleName());
+            hasError = true;
+        }
+        BindingClass bindingClass = bindMap.get(enclosingElement);
+        Set<Integer> seenIds = new LinkedHashSet<>();
+        for (int id : ids) {
+            if (!seenIds.add(id)) {
+                fail(element, "@%s annotation contains duplicate ID %d. (%s.%s)",
+                        OnClick.class.getSimpleName(), id, enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                hasError = true;
+            } else if (bindingClass != null && bindingClass.getClickBinding(id) != null) {
+                fail(element, "@%s ID %d is already bound to method %s. (%s.%s)",
+                        OnClick.class.getSimpleName(), id, bindingClass.getClickBinding(id).getName(),
+                        enclosingElement.getQualifiedName(), element.getSimpleName());
+                hasError = true;
+            } else if (bindingClass != null && bindingClass.getClickViewBinding(id) != null) {
+                // Both would set a listener on the view, and only the last one would be called.
+                fail(element, "@%s ID %d is already bound to field %s with @%s(click = true). (%s.%s)",
+                        OnClick.class.getSimpleName(), id, bindingClass.getClickViewBinding(id).getName(),
+                        ViewInject.class.getSimpleName(), enclosingElement.getQualifiedName(),
+                        element.getSimpleName());
+                hasError = true;
+            }
+        }
+
+        if (hasError) {
+            return;
+        }
+
+        bindingClass = getOrCreateTargetClass(bindMap, enclosingElement);
+        bindingClass.addClickBinding(new ClickBinding(ids, element.getSimpleName().toString(),
+                parameterType, onClick.debounce(), isRequiredInjection(element)));
+    }
+
+    private BindingClass getOrCreateTargetClass(Map<TypeElement, BindingClass> bindMap,
+                                                TypeElement enclosingElement) {
+        BindingClass bindingClass = bindMap.get(enclosingElement);
+        if (bindingClass == null) {
+            PackageElement packageElement = elementUtils.getPackageOf(enclosingElement);
+            String packageName = packageElement.getQualifiedName().toString();
+            String className = getClassName(enclosingElement, packageName);
+
+            bindingClass = new BindingClass(packageName, className);
+            bindingClass.setSinglePass(singlePass);
+            bindingClass.setTrace(trace);
+            bindMap.put(enclosingElement, bindingClass);
+        }
+        return bindingClass;
+    }
+
     private static String getClassName(TypeElement type, String packageName) {
         int packageLen = packageName.length() + 1;
         return type.getQualifiedName().toString().substring(packageLen)
@@ -195,48 +1007,56 @@ public class SmartKnifeProcessor extends AbstractProcessor {
         return false;
     }
 
-    private boolean isInterface(TypeMirror typeMirror) {
-        return typeMirror instanceof DeclaredType && ((DeclaredType) typeMirror).asElement().getKind() == INTERFACE;
+    /** Whether generated code in {@code packageName} can refer to {@code type}. */
+    private boolean isVisibleFrom(TypeElement type, String packageName) {
+        boolean samePackage = elementUtils.getPackageOf(type).getQualifiedName().contentEquals(packageName);
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(PRIVATE) || (!samePackage && !modifiers.contains(PUBLIC))) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private boolean isSubtypeOfType(TypeMirror typeMirror, String otherType) {
-        if (otherType.equals(typeMirror.toString())) {
-            return true;
-        }
-        if (!(typeMirror instanceof DeclaredType)) {
-            return false;
+    /** The {@code V} of a {@code LazyView<V>}, or {@code null} if {@code typeMirror} is not one. */
+    private TypeMirror getLazyViewType(TypeMirror typeMirror) {
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            return null;
         }
         DeclaredType declaredType = (DeclaredType) typeMirror;
+        TypeElement typeElement = (TypeElement) declaredType.asElement();
         List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
-        if (typeArguments.size() > 0) {
-            StringBuilder typeString = new StringBuilder(declaredType.asElement().toString());
-            typeString.append('<');
-            for (int i = 0; i < typeArguments.size(); i++) {
-                if (i > 0) {
-                    typeString.append(',');
-                }
-                typeString.append('?');
-            }
-            typeString.append('>');
-            if (typeString.toString().equals(otherType)) {
-                return true;
-            }
+        if (!typeElement.getQualifiedName().contentEquals(LAZY_VIEW_TYPE) || typeArguments.size() != 1
+                || typeArguments.get(0).getKind() == TypeKind.WILDCARD) {
+            return null;
         }
-        Element element = declaredType.asElement();
-        if (!(element instanceof TypeElement)) {
+        return typeArguments.get(0);
+    }
+
+    private boolean isInterface(TypeMirror typeMirror) {
+        return typeMirror instanceof DeclaredType && ((DeclaredType) typeMirror).asElement().getKind() == INTERFACE;
+    }
+
+    private boolean isSubtypeOfType(TypeMirror typeMirror, String otherType) {
+        TypeMirror erasure = typeUtils.erasure(typeMirror);
+        if (erasure.getKind() != TypeKind.DECLARED) {
             return false;
         }
-        TypeElement typeElement = (TypeElement) element;
-        TypeMirror superType = typeElement.getSuperclass();
-        if (isSubtypeOfType(superType, otherType)) {
-            return true;
+        TypeElement typeElement = (TypeElement) typeUtils.asElement(erasure);
+        Map<TypeElement, Boolean> subtypes = subtypeCache.get(otherType);
+        if (subtypes == null) {
+            subtypes = new HashMap<>();
+            subtypeCache.put(otherType, subtypes);
         }
-        for (TypeMirror interfaceType : typeElement.getInterfaces()) {
-            if (isSubtypeOfType(interfaceType, otherType)) {
-                return true;
-            }
+        Boolean isSubtype = subtypes.get(typeElement);
+        if (isSubtype == null) {
+            TypeElement otherElement = elementUtils.getTypeElement(otherType);
+            isSubtype = otherElement != null
+                    && typeUtils.isSubtype(erasure, typeUtils.erasure(otherElement.asType()));
+            subtypes.put(typeElement, isSubtype);
         }
-        return false;
+        return isSubtype;
     }
 
     private static boolean hasAnnotationWithName(Element element, String simpleName) {
@@ -259,4 +1079,13 @@ public class SmartKnifeProcessor extends AbstractProcessor {
         }
         processingEnv.getMessager().printMessage(NOTE, message, element);
     }
+
+    /** Report an error that fails the build, unlike {@link #error}. */
+    private void fail(Element element, String message, Object... args) {
+        processingEnv.getMessager().printMessage(ERROR, String.format(message, args), element);
+    }
+
+    private void note(String message, Object... args) {
+        processingEnv.getMessager().printMessage(NOTE, String.format(message, args));
+    }
 }
@@ -0,0 +1,17 @@
+package com.laomo.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bind a string resource to the annotated field, which must be {@code String}. Values are cached
+ * per {@code Context} by {@link ResourceCache}.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface StringInject {
+
+    int id();
+}
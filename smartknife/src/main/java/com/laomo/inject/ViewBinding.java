@@ -4,17 +4,22 @@ final class ViewBinding {
     private int id;
     private String name;
     private String type;
+    /** Binary name of the field type, e.g. {@code com.example.Chart$Axis}, for class files. */
+    private String binaryType;
     private boolean required;
     private boolean click;
     private boolean itemClick;
+    private boolean lazy;
 
-    public ViewBinding(int id, String name, String type, boolean click, boolean itemClick, boolean required) {
+    public ViewBinding(int id, String name, String type, boolean click, boolean itemClick, boolean required,
+                       boolean lazy) {
         this.id = id;
         this.name = name;
         this.type = type;
         this.required = required;
         this.click = click;
         this.itemClick = itemClick;
+        this.lazy = lazy;
     }
 
     public int getId() {
@@ -41,6 +46,14 @@ final class ViewBinding {
         this.type = type;
     }
 
+    public String getBinaryType() {
+        return binaryType;
+    }
+
+    public void setBinaryType(String binaryType) {
+        this.binaryType = binaryType;
+    }
+
     public boolean isRequired() {
         return required;
     }
@@ -64,4 +77,12 @@ final class ViewBinding {
     public void setItemClick(boolean itemClick) {
         this.itemClick = itemClick;
     }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
 }
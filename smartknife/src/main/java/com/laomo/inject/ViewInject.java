@@ -14,4 +14,11 @@ public @interface ViewInject {
     boolean click() default false;
 
     boolean itemClick() default false;
+
+    /**
+     * Look the view up on first use instead of at bind time. The field must be a
+     * {@link LazyView}{@code <V>} of the view type, and cannot be combined with {@code click} or
+     * {@code itemClick}.
+     */
+    boolean lazy() default false;
 }
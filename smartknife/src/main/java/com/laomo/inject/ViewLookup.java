@@ -0,0 +1,109 @@
+package com.laomo.inject;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+/**
+ * Resolves view IDs against one view tree in a single depth-first traversal.
+ * <p>
+ * The traversal visits views in the same order as {@link View#findViewById(int)}, stops as soon
+ * as every requested ID is found and resumes from there on the next request. Every ID seen on
+ * the way is remembered, so binding several targets against the same lookup walks the tree at
+ * most once:
+ * <pre>{@code
+ * ViewLookup lookup = new ViewLookup(activity);
+ * SmartKnife.bind(activity, lookup);
+ * SmartKnife.bind(presenter, lookup);
+ * }</pre>
+ * Instances are not thread safe and must not outlive changes to the view tree.
+ */
+public final class ViewLookup {
+
+    private final View root;
+    private final SparseArray<View> found = new SparseArray<View>();
+    private final ArrayList<View> pending = new ArrayList<View>();
+
+    public ViewLookup(View root) {
+        this.root = root;
+        pending.add(root);
+    }
+
+    /** Look up IDs in the current content view of {@code activity}. */
+    public ViewLookup(Activity activity) {
+        this(activity.getWindow().getDecorView());
+    }
+
+    /** Look up IDs in the current content view of {@code dialog}. */
+    public ViewLookup(Dialog dialog) {
+        this(dialog.getWindow().getDecorView());
+    }
+
+    public View getRoot() {
+        return root;
+    }
+
+    /** Equivalent of {@link View#findViewById(int)} on the root. */
+    public View findViewById(int id) {
+        View view = found.get(id);
+        return view != null ? view : findViewsById(new int[] { id })[0];
+    }
+
+    /**
+     * Find the views for all {@code ids} at once.
+     *
+     * @return Views in the order of {@code ids}, {@code null} where an ID is not in the tree.
+     */
+    public View[] findViewsById(int[] ids) {
+        View[] views = new View[ids.length];
+        int missing = 0;
+        for (int i = 0; i < ids.length; i++) {
+            views[i] = found.get(ids[i]);
+            if (views[i] == null) {
+                missing++;
+            }
+        }
+        while (missing > 0 && !pending.isEmpty()) {
+            View view = visitNext();
+            if (view != null) {
+                int id = view.getId();
+                for (int i = 0; i < ids.length; i++) {
+                    if (ids[i] == id) {
+                        views[i] = view;
+                        missing--;
+                    }
+                }
+            }
+        }
+        return views;
+    }
+
+    /** Walk the rest of the tree now, so later requests are answered without traversing it. */
+    void resolveAll() {
+        while (!pending.isEmpty()) {
+            visitNext();
+        }
+    }
+
+    /** Visit the next pending view and return it if it is the first one seen with its ID. */
+    private View visitNext() {
+        View view = pending.remove(pending.size() - 1);
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            // Push in reverse so that children are visited in order.
+            for (int i = group.getChildCount() - 1; i >= 0; i--) {
+                pending.add(group.getChildAt(i));
+            }
+        }
+        int id = view.getId();
+        if (id != View.NO_ID && found.get(id) == null) {
+            found.put(id, view);
+            return view;
+        }
+        return null;
+    }
+}
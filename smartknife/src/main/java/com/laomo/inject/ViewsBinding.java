@@ -0,0 +1,39 @@
+package com.laomo.inject;
+
+final class ViewsBinding {
+    private int[] ids;
+    private String name;
+    private String type;
+    private boolean list;
+    private boolean required;
+
+    public ViewsBinding(int[] ids, String name, String type, boolean list, boolean required) {
+        this.ids = ids;
+        this.name = name;
+        this.type = type;
+        this.list = list;
+        this.required = required;
+    }
+
+    public int[] getIds() {
+        return ids;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Erased type of the views. */
+    public String getType() {
+        return type;
+    }
+
+    /** Whether the field is a {@code List} rather than an array. */
+    public boolean isList() {
+        return list;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+}
@@ -0,0 +1,23 @@
+package com.laomo.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bind the views with the given IDs to an array or {@link java.util.List} field, in the order of
+ * the IDs.
+ * <pre>{@code
+ * @ViewsInject(id = { R.id.first_name, R.id.middle_name, R.id.last_name })
+ * List<EditText> nameViews;
+ * }</pre>
+ * Lists are immutable and can be passed to {@code SmartKnife.apply()}. With {@code @Nullable},
+ * views that are not found are left out.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ViewsInject {
+
+    int[] id();
+}
@@ -0,0 +1,179 @@
+package com.laomo.inject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/** Compiles sources with {@link SmartKnifeProcessor} into a directory, for the processor tests. */
+final class Compilation {
+
+    private static final String CLASS_PATH = System.getProperty("java.class.path");
+
+    final File generatedDir;
+    final File classesDir;
+    final boolean success;
+    final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+    private Compilation(File generatedDir, File classesDir, boolean success,
+                        List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+        this.generatedDir = generatedDir;
+        this.classesDir = classesDir;
+        this.success = success;
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Compile {@code sources} below {@code dir}, which gets a {@code generated} and a
+     * {@code classes} directory.
+     *
+     * @param options Options passed to javac, e.g. {@code -Asmartknife.index=...}.
+     */
+    static Compilation compile(File dir, List<File> sources, String... options) throws IOException {
+        return compile(dir, sources, Collections.singletonList(new SmartKnifeProcessor()), options);
+    }
+
+    /**
+     * Like {@link #compile(File, List, String...)}, with {@code processors} instead of a new
+     * {@link SmartKnifeProcessor}.
+     */
+    static Compilation compile(File dir, List<File> sources, List<? extends Processor> processors,
+                               String... options) throws IOException {
+        File generatedDir = new File(dir, "generated");
+        File classesDir = new File(dir, "classes");
+        if (!generatedDir.mkdirs() || !classesDir.mkdirs()) {
+            throw new IOException("Unable to create output directories in " + dir);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        List<String> javacOptions = new ArrayList<String>();
+        Collections.addAll(javacOptions,
+                "-classpath", CLASS_PATH,
+                "-d", classesDir.getPath(),
+                "-s", generatedDir.getPath(),
+                "-encoding", "UTF-8");
+        Collections.addAll(javacOptions, options);
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, javacOptions,
+                null, fileManager.getJavaFileObjectsFromFiles(sources));
+        task.setProcessors(processors);
+        boolean success = task.call();
+        fileManager.close();
+        return new Compilation(generatedDir, classesDir, success, diagnostics.getDiagnostics());
+    }
+
+    /** Write {@code source} to the file of its top-level class {@code className} below {@code dir}. */
+    static File writeSource(File dir, String className, String source) throws IOException {
+        File file = new File(dir, className.replace('.', File.separatorChar) + ".java");
+        if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            throw new IOException("Unable to create " + file.getParentFile());
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    /**
+     * The generated sources and the class files of the binders, by path below their directory.
+     * The class files include the binders javac compiled from generated sources.
+     */
+    Map<String, byte[]> getBinderFiles() throws IOException {
+        Map<String, byte[]> files = readFiles(generatedDir);
+        for (Map.Entry<String, byte[]> entry : readFiles(classesDir).entrySet()) {
+            if (entry.getKey().contains("$$")) {
+                files.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * The files the processor wrote: the generated sources and, with {@code smartknife.bytecode},
+     * the class files of binders that have no source. They do not depend on the javac version.
+     */
+    Map<String, byte[]> getProcessorFiles() throws IOException {
+        Map<String, byte[]> files = readFiles(generatedDir);
+        for (Map.Entry<String, byte[]> entry : getBinderFiles().entrySet()) {
+            String path = entry.getKey();
+            int end = path.indexOf('$', path.indexOf("$$") + 2);
+            String binder = path.substring(0, end != -1 ? end : path.length() - ".class".length());
+            if (path.endsWith(".class") && !files.containsKey(binder + ".java")) {
+                files.put(path, entry.getValue());
+            }
+        }
+        return files;
+    }
+
+    /** The content of every file below {@code dir}, by its path with {@code /} separators. */
+    static Map<String, byte[]> readFiles(File dir) throws IOException {
+        Map<String, byte[]> files = new TreeMap<String, byte[]>();
+        readFiles(dir, "", files);
+        return files;
+    }
+
+    private static void readFiles(File dir, String prefix, Map<String, byte[]> files) throws IOException {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File file : children) {
+            if (file.isDirectory()) {
+                readFiles(file, prefix + file.getName() + "/", files);
+            } else {
+                RandomAccessFile in = new RandomAccessFile(file, "r");
+                try {
+                    byte[] bytes = new byte[(int) in.length()];
+                    in.readFully(bytes);
+                    files.put(prefix + file.getName(), bytes);
+                } finally {
+                    in.close();
+                }
+            }
+        }
+    }
+
+    /** Diagnostics of {@code kind}, as messages. */
+    List<String> getMessages(Diagnostic.Kind kind) {
+        List<String> messages = new ArrayList<String>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() == kind) {
+                messages.add(diagnostic.getMessage(null));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * A class loader for the compiled classes that shares no classes with the test, so SmartKnife
+     * starts without cached binders or registered indexes.
+     */
+    URLClassLoader newClassLoader() throws IOException {
+        List<URL> urls = new ArrayList<URL>();
+        urls.add(classesDir.toURI().toURL());
+        for (String entry : CLASS_PATH.split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), null);
+    }
+}
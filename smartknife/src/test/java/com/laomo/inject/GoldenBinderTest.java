@@ -0,0 +1,85 @@
+package com.laomo.inject;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Compiles the sources in {@code golden/src} and compares the output of the processor with the
+ * files checked in below {@code golden/expected}, then compiles them again in other orders and
+ * checks that every binder, including its class files, is byte-identical.
+ * <p>
+ * After an intended change to the generated code, replace the expected files with the output of
+ * the processor.
+ */
+public class GoldenBinderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test public void defaultBinders() throws Exception {
+        check("default", "-Asmartknife.index=golden.Index");
+    }
+
+    @Test public void consolidatedBinders() throws Exception {
+        check("consolidated", "-Asmartknife.consolidate=true", "-Asmartknife.index=golden.Index");
+    }
+
+    @Test public void bytecodeBinders() throws Exception {
+        check("bytecode", "-Asmartknife.bytecode=true");
+    }
+
+    private void check(String mode, String... options) throws Exception {
+        File golden = new File(GoldenBinderTest.class.getResource("/golden").toURI());
+        List<File> sources = new ArrayList<File>();
+        for (File file : new File(golden, "src/golden").listFiles()) {
+            sources.add(file);
+        }
+        Collections.sort(sources);
+
+        Compilation first = compile(mode + "-first", sources, options);
+        assertSameFiles(Compilation.readFiles(new File(golden, "expected/" + mode)), first.getProcessorFiles());
+
+        Map<String, byte[]> binders = first.getBinderFiles();
+        List<File> reversed = new ArrayList<File>(sources);
+        Collections.reverse(reversed);
+        assertSameFiles(binders, compile(mode + "-reversed", reversed, options).getBinderFiles());
+        List<File> shuffled = new ArrayList<File>(sources);
+        Collections.shuffle(shuffled, new Random(7L));
+        assertSameFiles(binders, compile(mode + "-shuffled", shuffled, options).getBinderFiles());
+    }
+
+    private Compilation compile(String name, List<File> sources, String... options) throws Exception {
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder(name), sources, options);
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        return compilation;
+    }
+
+    static void assertSameFiles(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            String path = entry.getKey();
+            if (Arrays.equals(entry.getValue(), actual.get(path))) {
+                continue;
+            }
+            if (path.endsWith(".java")) {
+                assertEquals(path, new String(entry.getValue(), UTF_8), new String(actual.get(path), UTF_8));
+            }
+            fail(path + " differs.");
+        }
+    }
+}
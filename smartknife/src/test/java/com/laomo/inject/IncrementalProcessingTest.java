@@ -0,0 +1,184 @@
+package com.laomo.inject;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the contract of the Gradle incremental processing category that
+ * {@link SmartKnifeProcessor#getSupportedOptions()} declares: isolating builds write every file
+ * with exactly one originating element, the target it binds.
+ */
+public class IncrementalProcessingTest {
+
+    private static final String ISOLATING = "org.gradle.annotation.processing.isolating";
+    private static final String AGGREGATING = "org.gradle.annotation.processing.aggregating";
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test public void defaultBindersAreIsolating() throws Exception {
+        checkIsolating();
+    }
+
+    @Test public void singlePassBindersAreIsolating() throws Exception {
+        checkIsolating("-Asmartknife.singlePass=true");
+    }
+
+    @Test public void bytecodeBindersAreIsolating() throws Exception {
+        checkIsolating("-Asmartknife.bytecode=true");
+    }
+
+    @Test public void parallelBindersAreIsolating() throws Exception {
+        checkIsolating("-Asmartknife.parallel=true", "-Asmartknife.timing=true", "-Asmartknife.trace=true");
+    }
+
+    @Test public void indexIsAggregating() throws Exception {
+        assertEquals(Collections.singletonList(AGGREGATING),
+                compile("-Asmartknife.index=golden.Index").getCategories());
+    }
+
+    @Test public void consolidatedBindersAreAggregating() throws Exception {
+        assertEquals(Collections.singletonList(AGGREGATING),
+                compile("-Asmartknife.consolidate=true", "-Asmartknife.index=golden.Index").getCategories());
+    }
+
+    @Test public void layoutVerificationIsNotIncremental() throws Exception {
+        File layoutDir = temporaryFolder.newFolder("layout");
+        Files.write(new File(layoutDir, "main.xml").toPath(),
+                "<LinearLayout xmlns:android=\"http://schemas.android.com/apk/res/android\" />\n"
+                        .getBytes(Charset.forName("UTF-8")));
+        assertEquals(Collections.<String>emptyList(),
+                compile("-Asmartknife.layoutDir=" + layoutDir.getPath()).getCategories());
+    }
+
+    private void checkIsolating(String... options) throws Exception {
+        RecordingProcessor processor = compile(options);
+        assertEquals(Collections.singletonList(ISOLATING), processor.getCategories());
+        assertFalse(processor.originatingElements.isEmpty());
+        for (Map.Entry<String, List<String>> entry : processor.originatingElements.entrySet()) {
+            String name = entry.getKey();
+            String binder = name.substring(0, name.indexOf(SmartKnifeProcessor.SUFFIX));
+            assertEquals(name, Collections.singletonList(binder), entry.getValue());
+        }
+    }
+
+    private RecordingProcessor compile(String... options) throws Exception {
+        File golden = new File(IncrementalProcessingTest.class.getResource("/golden/src/golden").toURI());
+        List<File> sources = Arrays.asList(golden.listFiles());
+        RecordingProcessor processor = new RecordingProcessor();
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder(), sources,
+                Collections.singletonList(processor), options);
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        return processor;
+    }
+
+    /** Records the binary names of the originating elements of every file the processor creates. */
+    static final class RecordingProcessor extends SmartKnifeProcessor {
+        final Map<String, List<String>> originatingElements = new TreeMap<String, List<String>>();
+
+        @Override public synchronized void init(final ProcessingEnvironment env) {
+            final Filer filer = new Filer() {
+                @Override public JavaFileObject createSourceFile(CharSequence name, Element... elements)
+                        throws IOException {
+                    record(name, elements);
+                    return env.getFiler().createSourceFile(name, elements);
+                }
+
+                @Override public JavaFileObject createClassFile(CharSequence name, Element... elements)
+                        throws IOException {
+                    record(name, elements);
+                    return env.getFiler().createClassFile(name, elements);
+                }
+
+                @Override public FileObject createResource(JavaFileManager.Location location, CharSequence pkg,
+                        CharSequence relativeName, Element... elements) throws IOException {
+                    record(pkg + "." + relativeName, elements);
+                    return env.getFiler().createResource(location, pkg, relativeName, elements);
+                }
+
+                @Override public FileObject getResource(JavaFileManager.Location location, CharSequence pkg,
+                        CharSequence relativeName) throws IOException {
+                    return env.getFiler().getResource(location, pkg, relativeName);
+                }
+
+                private void record(CharSequence name, Element... elements) {
+                    List<String> names = new ArrayList<String>();
+                    for (Element element : elements) {
+                        names.add(env.getElementUtils().getBinaryName((TypeElement) element).toString());
+                    }
+                    synchronized (originatingElements) {
+                        originatingElements.put(name.toString(), names);
+                    }
+                }
+            };
+            super.init(new ProcessingEnvironment() {
+                @Override public Map<String, String> getOptions() {
+                    return env.getOptions();
+                }
+
+                @Override public Messager getMessager() {
+                    return env.getMessager();
+                }
+
+                @Override public Filer getFiler() {
+                    return filer;
+                }
+
+                @Override public Elements getElementUtils() {
+                    return env.getElementUtils();
+                }
+
+                @Override public Types getTypeUtils() {
+                    return env.getTypeUtils();
+                }
+
+                @Override public SourceVersion getSourceVersion() {
+                    return env.getSourceVersion();
+                }
+
+                @Override public Locale getLocale() {
+                    return env.getLocale();
+                }
+            });
+        }
+
+        /** The Gradle incremental processing categories among the supported options. */
+        List<String> getCategories() {
+            List<String> categories = new ArrayList<String>();
+            for (String option : getSupportedOptions()) {
+                if (option.startsWith("org.gradle.annotation.processing.")) {
+                    categories.add(option);
+                }
+            }
+            return categories;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.view.View;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedBinderTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Compilation compile() throws Exception {
+        File src = temporaryFolder.newFolder("src");
+        List<File> sources = new ArrayList<File>();
+        sources.add(Compilation.writeSource(src, "a.Base", ""
+                + "package a;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "public class Base {\n"
+                + "    @ViewInject(id = 1) public View base;\n"
+                + "}\n"));
+        sources.add(Compilation.writeSource(src, "a.Plain", ""
+                + "package a;\n"
+                + "public class Plain extends Base {\n"
+                + "    public static class Deep extends Plain {\n"
+                + "    }\n"
+                + "}\n"));
+        sources.add(Compilation.writeSource(src, "b.Child", ""
+                + "package b;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "class Child extends a.Base {\n"
+                + "    @ViewInject(id = 2) public View child;\n"
+                + "}\n"));
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder("out"), sources,
+                "-Asmartknife.index=a.Index");
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        return compilation;
+    }
+
+    @Test public void classLeftOutOfTheIndexUsesItsOwnBinder() throws Exception {
+        Compilation compilation = compile();
+        URLClassLoader loader = compilation.newClassLoader();
+        try {
+            addIndex(loader);
+            Object child = newInstance(loader, "b.Child");
+            bind(loader, child);
+            assertNotNull(getField(child, "base"));
+            assertNotNull(getField(child, "child"));
+        } finally {
+            loader.close();
+        }
+    }
+
+    @Test public void indexListsUnannotatedSubclasses() throws Exception {
+        Compilation compilation = compile();
+        URLClassLoader loader = compilation.newClassLoader();
+        try {
+            Object index = loader.loadClass("a.Index").newInstance();
+            Method newBinder = index.getClass().getMethod("newBinder", Class.class);
+            for (String name : new String[] { "a.Base", "a.Plain", "a.Plain$Deep" }) {
+                Object binder = newBinder.invoke(index, loader.loadClass(name));
+                assertEquals(name, "a.Base" + SmartKnifeProcessor.SUFFIX, binder.getClass().getName());
+            }
+            assertNull(newBinder.invoke(index, loader.loadClass("b.Child")));
+
+            addIndex(loader);
+            Object deep = newInstance(loader, "a.Plain$Deep");
+            bind(loader, deep);
+            assertNotNull(getField(deep, "base"));
+        } finally {
+            loader.close();
+        }
+    }
+
+    private static void addIndex(ClassLoader loader) throws Exception {
+        Class<?> binderIndex = loader.loadClass(SmartKnife.BinderIndex.class.getName());
+        loader.loadClass(SmartKnife.class.getName()).getMethod("addIndex", binderIndex)
+                .invoke(null, loader.loadClass("a.Index").newInstance());
+    }
+
+    private static Object newInstance(ClassLoader loader, String className) throws Exception {
+        Constructor<?> constructor = loader.loadClass(className).getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    private static void bind(ClassLoader loader, Object target) throws Exception {
+        Class<?> viewClass = loader.loadClass(View.class.getName());
+        Object root = loader.loadClass(AnyIdView.class.getName())
+                .getConstructor(loader.loadClass(Context.class.getName()))
+                .newInstance(new Object[] { null });
+        loader.loadClass(SmartKnife.class.getName()).getMethod("bind", Object.class, viewClass)
+                .invoke(null, target, root);
+    }
+
+    private static Object getField(Object target, String name) throws Exception {
+        Field field = target.getClass().getField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+}
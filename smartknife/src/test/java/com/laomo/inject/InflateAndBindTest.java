@@ -0,0 +1,129 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.laomo.inject.SmartKnife.Unbinder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InflateAndBindTest {
+
+    private static final int LAYOUT = 1;
+
+    private ViewGroup parent;
+    private View bound;
+
+    @Before public void setUp() {
+        Looper.prepareMainLooper();
+        parent = new ViewGroup(new InflatingContext());
+        CountingViewGroup.walks = 0;
+        CountingViewGroup.mainThreadWalks = 0;
+    }
+
+    @After public void tearDown() {
+        Looper.getMainLooper().quit();
+    }
+
+    @Test public void mainThreadDoesNotWalkTheInflatedTree() throws Exception {
+        final Child target = new Child();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        SmartKnife.inflateAndBind(target, LAYOUT, parent, executor, new SmartKnife.InflateCallback() {
+            @Override public void onBound(View view, Unbinder unbinder) {
+                bound = view;
+            }
+
+            @Override public void onFailed(RuntimeException e) {
+                throw e;
+            }
+        });
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(CountingViewGroup.walks > 0);
+
+        Looper.loop();
+
+        assertEquals(0, CountingViewGroup.mainThreadWalks);
+        assertNotNull(bound);
+        assertSame(bound.findViewById(1), target.title);
+        assertSame(bound.findViewById(2), target.button);
+    }
+
+    static class Parent {
+        @ViewInject(id = 1) Label title;
+    }
+
+    static class Child extends Parent {
+        @ViewInject(id = 2) View button;
+    }
+
+    static final class Label extends View {
+        Label(Context context) {
+            super(context);
+        }
+    }
+
+    /** Inflates every layout into the same small tree of {@link CountingViewGroup}s. */
+    static final class InflatingContext extends Context {
+        @Override public Object getSystemService(String name) {
+            if (!LAYOUT_INFLATER_SERVICE.equals(name)) {
+                return null;
+            }
+            return new LayoutInflater() {
+                @Override public View inflate(int resource, ViewGroup root, boolean attachToRoot) {
+                    CountingViewGroup layout = new CountingViewGroup(InflatingContext.this);
+                    CountingViewGroup content = new CountingViewGroup(InflatingContext.this);
+                    Label title = new Label(InflatingContext.this);
+                    title.setId(1);
+                    View button = new View(InflatingContext.this);
+                    button.setId(2);
+                    content.addView(title);
+                    content.addView(button);
+                    layout.addView(content);
+                    return layout;
+                }
+            };
+        }
+    }
+
+    /** Counts the visits to its children, both by {@code findViewById} and by a {@link ViewLookup}. */
+    static final class CountingViewGroup extends ViewGroup {
+        static volatile int walks;
+        static volatile int mainThreadWalks;
+
+        CountingViewGroup(Context context) {
+            super(context);
+        }
+
+        @Override public View getChildAt(int index) {
+            count();
+            return super.getChildAt(index);
+        }
+
+        @Override protected View findViewTraversal(int id) {
+            count();
+            return super.findViewTraversal(id);
+        }
+
+        private static void count() {
+            walks++;
+            if (Thread.currentThread() == Looper.getMainLooper().getThread()) {
+                mainThreadWalks++;
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.laomo.inject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LayoutVerificationTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File src;
+    private File layoutDir;
+    private List<File> sources;
+
+    @Before public void setUp() throws IOException {
+        src = temporaryFolder.newFolder("src");
+        layoutDir = temporaryFolder.newFolder("layout");
+        sources = new ArrayList<File>();
+        sources.add(Compilation.writeSource(src, "p.R", ""
+                + "package p;\n"
+                + "public final class R {\n"
+                + "    public static final class id {\n"
+                + "        public static final int title = 1;\n"
+                + "        public static final int icon = 2;\n"
+                + "        public static final int footer = 3;\n"
+                + "    }\n"
+                + "}\n"));
+        sources.add(Compilation.writeSource(src, "p.Label", ""
+                + "package p;\n"
+                + "public class Label extends android.view.View {\n"
+                + "    public Label(android.content.Context context) {\n"
+                + "        super(context);\n"
+                + "    }\n"
+                + "}\n"));
+        sources.add(Compilation.writeSource(src, "p.Image", ""
+                + "package p;\n"
+                + "public class Image extends android.view.View {\n"
+                + "    public Image(android.content.Context context) {\n"
+                + "        super(context);\n"
+                + "    }\n"
+                + "}\n"));
+        writeLayout("main.xml", ""
+                + "<p.Label android:id=\"@+id/title\" />\n"
+                + "<p.Image android:id=\"@+id/icon\" />\n");
+        writeLayout("footer.xml", ""
+                + "<p.Label android:id=\"@+id/footer\" />\n");
+    }
+
+    @Test public void idsDeclaredInOneLayoutAreTrusted() throws Exception {
+        addTarget("Header", "@ViewInject(id = R.id.title) Label title;\n"
+                + "@ViewInject(id = R.id.icon) Image icon;\n");
+        Compilation compilation = compile();
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        assertFalse(readBinder(compilation, "Header").contains("Finder.missingView"));
+    }
+
+    @Test public void idsSpreadOverLayoutsKeepTheChecks() throws Exception {
+        addTarget("Screen", "@ViewInject(id = R.id.title) Label title;\n"
+                + "@ViewInject(id = R.id.footer) Label footer;\n");
+        Compilation compilation = compile();
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        assertTrue(readBinder(compilation, "Screen").contains("Finder.missingView"));
+    }
+
+    @Test public void layoutWithOnlySomeOfTheIdsKeepsTheChecks() throws Exception {
+        writeLayout("list.xml", ""
+                + "<p.Label android:id=\"@+id/title\" />\n");
+        addTarget("Header", "@ViewInject(id = R.id.title) Label title;\n"
+                + "@ViewInject(id = R.id.icon) Image icon;\n");
+        Compilation compilation = compile();
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        assertTrue(readBinder(compilation, "Header").contains("Finder.missingView"));
+    }
+
+    @Test public void idReusedWithAnotherViewTypeKeepsTheChecks() throws Exception {
+        writeLayout("gallery.xml", ""
+                + "<p.Image android:id=\"@+id/title\" />\n");
+        addTarget("Header", "@ViewInject(id = R.id.title) Label title;\n");
+        Compilation compilation = compile();
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        assertTrue(compilation.getMessages(Diagnostic.Kind.NOTE).contains(
+                "R.id.title is a p.Image in layout/gallery.xml, which cannot be bound as p.Label,"
+                        + " keeping runtime checks. (p.Header)"));
+        assertTrue(readBinder(compilation, "Header").contains("Finder.missingView"));
+    }
+
+    @Test public void wrongViewTypeFailsTheBuild() throws Exception {
+        addTarget("Wrong", "@ViewInject(id = R.id.title) Image title;\n");
+        Compilation compilation = compile();
+        assertFalse(compilation.success);
+        assertEquals(1, compilation.getMessages(Diagnostic.Kind.ERROR).size());
+        assertEquals("R.id.title is a p.Label in layout/main.xml, which cannot be bound as p.Image. (p.Wrong)",
+                compilation.getMessages(Diagnostic.Kind.ERROR).get(0));
+    }
+
+    private void addTarget(String className, String fields) throws IOException {
+        sources.add(Compilation.writeSource(src, "p." + className, ""
+                + "package p;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "public class " + className + " {\n"
+                + fields
+                + "}\n"));
+    }
+
+    private void writeLayout(String fileName, String views) throws IOException {
+        String layout = "<LinearLayout xmlns:android=\"http://schemas.android.com/apk/res/android\">\n"
+                + views
+                + "</LinearLayout>\n";
+        Files.write(new File(layoutDir, fileName).toPath(), layout.getBytes(Charset.forName("UTF-8")));
+    }
+
+    private Compilation compile() throws IOException {
+        return Compilation.compile(temporaryFolder.newFolder("out"), sources,
+                "-Asmartknife.layoutDir=" + layoutDir.getPath());
+    }
+
+    private static String readBinder(Compilation compilation, String className) throws IOException {
+        File binder = new File(compilation.generatedDir, "p/" + className + SmartKnifeProcessor.SUFFIX + ".java");
+        return new String(Files.readAllBytes(binder.toPath()), Charset.forName("UTF-8"));
+    }
+}
@@ -0,0 +1,151 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class OnClickTest {
+
+    private static final long DEBOUNCE = 500;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ViewGroup root;
+    private View ok;
+    private View cancel;
+    private View help;
+    private View submit;
+
+    @Before public void setUp() {
+        Context context = new Context();
+        root = new ViewGroup(context);
+        ok = addView(context, 1);
+        cancel = addView(context, 2);
+        help = addView(context, 3);
+        submit = addView(context, 4);
+        SystemClock.setUptimeMillis(10000);
+    }
+
+    @After public void tearDown() {
+        SystemClock.setUptimeMillis(-1);
+    }
+
+    private View addView(Context context, int id) {
+        View view = new View(context);
+        view.setId(id);
+        root.addView(view);
+        return view;
+    }
+
+    @Test public void clicksAreDispatchedByViewId() {
+        Target target = new Target();
+        SmartKnife.bind(target, (View) root);
+
+        ok.performClick();
+        help.performClick();
+        cancel.performClick();
+
+        assertEquals(Arrays.asList(ok, cancel), target.buttonClicks);
+        assertEquals(1, target.helpClicks);
+        assertEquals(0, target.submitClicks);
+    }
+
+    @Test public void clicksWithinTheDebounceWindowAreDropped() {
+        Target target = new Target();
+        SmartKnife.bind(target, (View) root);
+
+        submit.performClick();
+        SystemClock.setUptimeMillis(10000 + DEBOUNCE - 1);
+        submit.performClick();
+        assertEquals(1, target.submitClicks);
+
+        SystemClock.setUptimeMillis(10000 + DEBOUNCE);
+        submit.performClick();
+        assertEquals(2, target.submitClicks);
+        // Other methods have their own window.
+        help.performClick();
+        help.performClick();
+        assertEquals(2, target.helpClicks);
+    }
+
+    @Test public void invalidMethodsFailTheBuild() throws Exception {
+        Compilation compilation = compile(""
+                + "package p;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.OnClick;\n"
+                + "public class Screen {\n"
+                + "    @OnClick(id = 1) void twoParameters(View a, View b) {}\n"
+                + "    @OnClick(id = { 2, 2 }) void duplicateId() {}\n"
+                + "    @OnClick(id = 3) void first() {}\n"
+                + "    @OnClick(id = 3) void second() {}\n"
+                + "}\n");
+
+        assertFalse(compilation.success);
+        assertEquals(Arrays.asList(
+                "@OnClick methods can have at most one parameter. (p.Screen.twoParameters)",
+                "@OnClick annotation contains duplicate ID 2. (p.Screen.duplicateId)",
+                "@OnClick ID 3 is already bound to method first. (p.Screen.second)"),
+                compilation.getMessages(Diagnostic.Kind.ERROR));
+    }
+
+    @Test public void idWithClickFieldFailsTheBuild() throws Exception {
+        Compilation compilation = compile(""
+                + "package p;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.OnClick;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "public class Screen implements View.OnClickListener {\n"
+                + "    @ViewInject(id = 1, click = true) View button;\n"
+                + "    @OnClick(id = 1) void onButton() {}\n"
+                + "    @Override public void onClick(View v) {}\n"
+                + "}\n");
+
+        assertFalse(compilation.success);
+        assertEquals(Collections.singletonList(
+                "@OnClick ID 1 is already bound to field button with @ViewInject(click = true). (p.Screen.onButton)"),
+                compilation.getMessages(Diagnostic.Kind.ERROR));
+    }
+
+    private Compilation compile(String source) throws IOException {
+        File screen = Compilation.writeSource(temporaryFolder.newFolder("src"), "p.Screen", source);
+        return Compilation.compile(temporaryFolder.newFolder("out"), Collections.singletonList(screen));
+    }
+
+    static class Target {
+        final List<View> buttonClicks = new ArrayList<View>();
+        int helpClicks;
+        int submitClicks;
+
+        @OnClick(id = { 1, 2 }) void onButton(View view) {
+            buttonClicks.add(view);
+        }
+
+        @OnClick(id = 3) void onHelp() {
+            helpClicks++;
+        }
+
+        @OnClick(id = 4, debounce = DEBOUNCE) void onSubmit() {
+            submitClicks++;
+        }
+    }
+}
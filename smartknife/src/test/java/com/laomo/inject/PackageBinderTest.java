@@ -0,0 +1,312 @@
+package com.laomo.inject;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PackageBinderTest {
+
+    private static final String INDEX = "com.example.Index";
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File writeScreen(File src) throws IOException {
+        return Compilation.writeSource(src, "p.Screen", ""
+                + "package p;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "public class Screen {\n"
+                + "    @ViewInject(id = 1) public View title;\n"
+                + "    public static class Plain extends Screen {\n"
+                + "    }\n"
+                + "}\n");
+    }
+
+    private File writeHidden(File src) throws IOException {
+        return Compilation.writeSource(src, "q.Hidden", ""
+                + "package q;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "class Hidden {\n"
+                + "    @ViewInject(id = 2) View button;\n"
+                + "}\n");
+    }
+
+    private Compilation compile(String name, List<File> sources, String... options) throws IOException {
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder(name), sources, options);
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        return compilation;
+    }
+
+    @Test public void consolidateNeedsIndex() throws Exception {
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder("out"),
+                Collections.singletonList(writeScreen(temporaryFolder.newFolder("src"))),
+                "-Asmartknife.consolidate=true");
+
+        assertFalse(compilation.success);
+        assertEquals(Collections.singletonList("smartknife.consolidate needs smartknife.index."),
+                compilation.getMessages(Diagnostic.Kind.ERROR));
+    }
+
+    @Test public void withoutConsolidateNoPackageBinderIsLoaded() throws Exception {
+        Compilation compilation = compile("out",
+                Collections.singletonList(writeScreen(temporaryFolder.newFolder("src"))));
+        List<String> loaded = new ArrayList<String>();
+        URLClassLoader loader = newRecordingClassLoader(loaded, compilation.classesDir);
+        try {
+            Object target = newTarget(loader, "p.Screen$Plain");
+            bind(loader, target);
+            assertNotNull(get(target, "title"));
+        } finally {
+            loader.close();
+        }
+        assertTrue(loaded.contains("p.Screen$$ViewBinder"));
+        for (String name : loaded) {
+            assertFalse(name, name.contains(SmartKnifeProcessor.PACKAGE_BINDER));
+        }
+    }
+
+    @Test public void packageBindersAreFoundThroughTheIndex() throws Exception {
+        File src = temporaryFolder.newFolder("src");
+        Compilation compilation = compile("out", Arrays.asList(writeScreen(src), writeHidden(src)),
+                "-Asmartknife.consolidate=true", "-Asmartknife.index=" + INDEX);
+        List<String> loaded = new ArrayList<String>();
+        URLClassLoader loader = newRecordingClassLoader(loaded, compilation.classesDir);
+        try {
+            addIndex(loader, INDEX);
+            Object screen = newTarget(loader, "p.Screen$Plain");
+            bind(loader, screen);
+            assertNotNull(get(screen, "title"));
+            // Not visible from the index, so the index asks the package binder's own index.
+            Object target = newTarget(loader, "q.Hidden");
+            bind(loader, target);
+            assertNotNull(get(target, "button"));
+        } finally {
+            loader.close();
+        }
+        assertTrue(loaded.contains("p." + SmartKnifeProcessor.PACKAGE_BINDER));
+        assertTrue(loaded.contains("q." + SmartKnifeProcessor.PACKAGE_BINDER));
+        for (String name : loaded) {
+            assertFalse(name, name.endsWith(SmartKnifeProcessor.SUFFIX));
+        }
+    }
+
+    @Test public void preloadAllLoadsThePackageBinders() throws Exception {
+        File src = temporaryFolder.newFolder("src");
+        Compilation compilation = compile("out", Arrays.asList(writeScreen(src), writeHidden(src)),
+                "-Asmartknife.consolidate=true", "-Asmartknife.index=" + INDEX);
+        List<String> loaded = new ArrayList<String>();
+        URLClassLoader loader = newRecordingClassLoader(loaded, compilation.classesDir);
+        try {
+            addIndex(loader, INDEX);
+            // p.Screen, and q.Hidden, which only the index of its package binder lists.
+            assertEquals(2, preloadAll(loader));
+        } finally {
+            loader.close();
+        }
+        assertTrue(loaded.contains("p." + SmartKnifeProcessor.PACKAGE_BINDER));
+        assertTrue(loaded.contains("q." + SmartKnifeProcessor.PACKAGE_BINDER));
+    }
+
+    @Test public void laterRoundTargetUsesTheEarlierPackageBinder() throws Exception {
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder("out"),
+                Collections.singletonList(writeScreen(temporaryFolder.newFolder("src"))),
+                Arrays.asList(new SmartKnifeProcessor(), new LateScreenProcessor()),
+                "-Asmartknife.consolidate=true", "-Asmartknife.index=" + INDEX);
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        // Package p got its package binder in the first round, so p.Late gets a binder class.
+        assertTrue(new File(compilation.classesDir, "p/Late" + SmartKnifeProcessor.SUFFIX + ".class").isFile());
+
+        URLClassLoader loader = newRecordingClassLoader(new ArrayList<String>(), compilation.classesDir);
+        try {
+            addIndex(loader, INDEX);
+            Object target = newTarget(loader, "p.Late");
+            Object unbinder = bind(loader, target);
+            assertNotNull(get(target, "title"));
+            assertNotNull(get(target, "button"));
+
+            unbind(loader, unbinder);
+            assertNull(get(target, "title"));
+            assertNull(get(target, "button"));
+        } finally {
+            loader.close();
+        }
+    }
+
+    @Test public void childOfConsolidatedParentInAnotherModule() throws Exception {
+        Compilation library = compile("library",
+                Collections.singletonList(writeScreen(temporaryFolder.newFolder("librarySrc"))),
+                "-Asmartknife.consolidate=true", "-Asmartknife.index=" + INDEX);
+        File child = Compilation.writeSource(temporaryFolder.newFolder("appSrc"), "q.Child", ""
+                + "package q;\n"
+                + "import android.view.View;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "public class Child extends p.Screen {\n"
+                + "    @ViewInject(id = 2) public View button;\n"
+                + "}\n");
+        Compilation app = compile("app", Collections.singletonList(child),
+                "-classpath", library.classesDir + File.pathSeparator + System.getProperty("java.class.path"));
+
+        URLClassLoader loader = newRecordingClassLoader(new ArrayList<String>(), app.classesDir, library.classesDir);
+        try {
+            addIndex(loader, INDEX);
+            Object target = newTarget(loader, "q.Child");
+            Object unbinder = bind(loader, target);
+            assertNotNull(get(target, "title"));
+            assertNotNull(get(target, "button"));
+
+            unbind(loader, unbinder);
+            assertNull(get(target, "title"));
+            assertNull(get(target, "button"));
+        } finally {
+            loader.close();
+        }
+    }
+
+    /** Generates {@code p.Late}, a target that extends {@code p.Screen}, for the second round. */
+    static final class LateScreenProcessor extends AbstractProcessor {
+        private boolean generated;
+
+        // SmartKnifeProcessor claims @ViewInject, so only a processor for all types runs as well.
+        @Override public Set<String> getSupportedAnnotationTypes() {
+            return Collections.singleton("*");
+        }
+
+        @Override public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+            if (generated) {
+                return false;
+            }
+            generated = true;
+            try {
+                Writer writer = processingEnv.getFiler().createSourceFile("p.Late").openWriter();
+                writer.write(""
+                        + "package p;\n"
+                        + "import android.view.View;\n"
+                        + "import com.laomo.inject.ViewInject;\n"
+                        + "public class Late extends Screen {\n"
+                        + "    @ViewInject(id = 2) public View button;\n"
+                        + "}\n");
+                writer.close();
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return false;
+        }
+    }
+
+    private static void addIndex(ClassLoader loader, String indexName) throws Exception {
+        Class<?> binderIndex = loader.loadClass(SmartKnife.BinderIndex.class.getName());
+        loader.loadClass(SmartKnife.class.getName()).getMethod("addIndex", binderIndex)
+                .invoke(null, loader.loadClass(indexName).newInstance());
+    }
+
+    /** Runs {@code SmartKnife.preloadAll} on the calling thread and returns the preloaded count. */
+    private static int preloadAll(ClassLoader loader) throws Exception {
+        Class<?> callbackClass = loader.loadClass(SmartKnife.PreloadCallback.class.getName());
+        final int[] count = new int[1];
+        Object callback = Proxy.newProxyInstance(loader, new Class<?>[] { callbackClass }, new InvocationHandler() {
+            @Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("onFailed")) {
+                    throw (Throwable) args[0];
+                }
+                count[0] = (Integer) args[0];
+                return null;
+            }
+        });
+        Executor direct = new Executor() {
+            @Override public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        loader.loadClass(SmartKnife.class.getName()).getMethod("preloadAll", Executor.class, callbackClass)
+                .invoke(null, direct, callback);
+        return count[0];
+    }
+
+    private static Object newTarget(ClassLoader loader, String className) throws Exception {
+        Constructor<?> constructor = loader.loadClass(className).getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /** Binds {@code target} to a root in which every ID resolves, and returns the unbinder. */
+    private static Object bind(ClassLoader loader, Object target) throws Exception {
+        Class<?> viewClass = loader.loadClass("android.view.View");
+        Object root = loader.loadClass(AnyIdView.class.getName())
+                .getConstructor(loader.loadClass("android.content.Context"))
+                .newInstance(new Object[] { null });
+        return loader.loadClass(SmartKnife.class.getName()).getMethod("bind", Object.class, viewClass)
+                .invoke(null, target, root);
+    }
+
+    private static void unbind(ClassLoader loader, Object unbinder) throws Exception {
+        loader.loadClass(SmartKnife.Unbinder.class.getName()).getMethod("unbind").invoke(unbinder);
+    }
+
+    private static Object get(Object target, String name) throws Exception {
+        for (Class<?> cls = target.getClass(); cls != null; cls = cls.getSuperclass()) {
+            try {
+                Field field = cls.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(target);
+            } catch (NoSuchFieldException e) {
+                // Declared by a superclass.
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    /**
+     * A class loader for the classes in {@code classesDirs} and the test class path that shares no
+     * classes with the test, and adds the name of every class requested from it to {@code loaded}.
+     */
+    private static URLClassLoader newRecordingClassLoader(final List<String> loaded, File... classesDirs)
+            throws IOException {
+        List<URL> urls = new ArrayList<URL>();
+        for (File classesDir : classesDirs) {
+            urls.add(classesDir.toURI().toURL());
+        }
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        return new URLClassLoader(urls.toArray(new URL[urls.size()]), null) {
+            @Override protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                loaded.add(name);
+                return super.loadClass(name, resolve);
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.laomo.inject;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles a {@link SyntheticModule} and the golden sources with and without
+ * {@code -Asmartknife.parallel=true}, and checks that the generated sources and binder class
+ * files are byte-identical.
+ */
+public class ParallelGenerationTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test public void defaultBinders() throws Exception {
+        check("default", "-Asmartknife.index=com.example.Index");
+    }
+
+    @Test public void bytecodeBinders() throws Exception {
+        check("bytecode", "-Asmartknife.bytecode=true");
+    }
+
+    @Test public void consolidatedBinders() throws Exception {
+        check("consolidated", "-Asmartknife.consolidate=true", "-Asmartknife.index=com.example.Index");
+    }
+
+    @Test public void singlePassBinders() throws Exception {
+        check("singlePass", "-Asmartknife.singlePass=true");
+    }
+
+    private void check(String mode, String... options) throws Exception {
+        List<File> sources = new SyntheticModule(150, 10, 3, 42L).write(temporaryFolder.newFolder("src"));
+        File golden = new File(ParallelGenerationTest.class.getResource("/golden/src/golden").toURI());
+        sources.addAll(Arrays.asList(golden.listFiles()));
+
+        List<String> parallelOptions = new ArrayList<String>(Arrays.asList(options));
+        parallelOptions.add("-Asmartknife.parallel=true");
+        Compilation serial = compile(mode + "-serial", sources, options);
+        Compilation parallel = compile(mode + "-parallel", sources,
+                parallelOptions.toArray(new String[parallelOptions.size()]));
+        GoldenBinderTest.assertSameFiles(serial.getBinderFiles(), parallel.getBinderFiles());
+    }
+
+    private Compilation compile(String name, List<File> sources, String... options) throws Exception {
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder(name), sources, options);
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        return compilation;
+    }
+}
@@ -0,0 +1,113 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+import com.laomo.inject.SmartKnife.ViewBinder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PreloadTest {
+
+    private static final Executor DIRECT = new Executor() {
+        @Override public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final IllegalStateException brokenBinder = new IllegalStateException("broken binder");
+
+    /** Lists both targets, but fails to create the binder of {@link Broken}. */
+    private final SmartKnife.BinderIndex brokenIndex = new SmartKnife.BinderIndex() {
+        @Override public ViewBinder<Object> newBinder(Class<?> cls) {
+            if (cls == Broken.class) {
+                throw brokenBinder;
+            }
+            return null;
+        }
+
+        @Override public Class<?>[] targetClasses() {
+            return new Class<?>[] { Broken.class, Screen.class };
+        }
+    };
+
+    @Before public void setUp() {
+        SmartKnife.INJECTORS.remove(Screen.class);
+        SmartKnife.INJECTORS.remove(Broken.class);
+    }
+
+    @After public void tearDown() {
+        SmartKnife.INDEXES.remove(brokenIndex);
+    }
+
+    @Test public void preloadCachesTheBinders() {
+        RecordingCallback callback = new RecordingCallback();
+        SmartKnife.preload(DIRECT, callback, Screen.class);
+
+        assertEquals(1, callback.count);
+        assertNull(callback.failure);
+        assertTrue(SmartKnife.INJECTORS.containsKey(Screen.class));
+    }
+
+    @Test public void failureIsPassedToTheCallback() {
+        SmartKnife.addIndex(brokenIndex);
+        RecordingCallback callback = new RecordingCallback();
+        SmartKnife.preload(DIRECT, callback, Broken.class, Screen.class);
+
+        assertEquals(-1, callback.count);
+        assertEquals("Unable to preload view binder for " + Broken.class.getName(), callback.failure.getMessage());
+        assertSame(brokenBinder, callback.failure.getCause());
+        // The classes after the broken one are loaded anyway.
+        assertTrue(SmartKnife.INJECTORS.containsKey(Screen.class));
+    }
+
+    @Test public void preloadAllPassesFailuresToTheCallback() {
+        SmartKnife.addIndex(brokenIndex);
+        RecordingCallback callback = new RecordingCallback();
+        SmartKnife.preloadAll(DIRECT, callback);
+
+        assertEquals(-1, callback.count);
+        assertSame(brokenBinder, callback.failure.getCause());
+        assertTrue(SmartKnife.INJECTORS.containsKey(Screen.class));
+    }
+
+    @Test public void failureWithoutCallbackIsThrown() {
+        SmartKnife.addIndex(brokenIndex);
+        try {
+            SmartKnife.preload(DIRECT, null, Broken.class);
+            fail();
+        } catch (RuntimeException e) {
+            assertSame(brokenBinder, e.getCause());
+        }
+    }
+
+    static final class RecordingCallback implements SmartKnife.PreloadCallback {
+        int count = -1;
+        RuntimeException failure;
+
+        @Override public void onPreloaded(int count, long durationNanos) {
+            this.count = count;
+        }
+
+        @Override public void onFailed(RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    static class Screen {
+        @ViewInject(id = 1) View title;
+    }
+
+    static class Broken {
+        @ViewInject(id = 1) View title;
+    }
+}
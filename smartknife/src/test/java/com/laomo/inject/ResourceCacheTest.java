@@ -0,0 +1,87 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ResourceCacheTest {
+
+    @Test public void configurationChangeReloadsValues() {
+        CountingContext context = new CountingContext();
+        assertEquals("string_1", ResourceCache.get(context).getString(1));
+        assertEquals("string_1", ResourceCache.get(context).getString(1));
+        assertEquals(1, context.resources.stringLoads);
+
+        context.resources.getConfiguration().orientation = 2;
+        assertEquals("string_1", ResourceCache.get(context).getString(1));
+        assertEquals(2, context.resources.stringLoads);
+    }
+
+    @Test public void themeChangeReloadsDrawables() {
+        CountingContext context = new CountingContext();
+        Resources.Theme first = context.theme;
+        ResourceCache.get(context).getDrawable(1);
+        ResourceCache.get(context).getDrawable(1);
+        assertEquals(1, context.resources.drawableLoads);
+        assertSame(first, context.resources.drawableTheme);
+
+        context.theme = context.resources.newTheme();
+        ResourceCache.get(context).getDrawable(1);
+        assertEquals(2, context.resources.drawableLoads);
+        assertSame(context.theme, context.resources.drawableTheme);
+    }
+
+    @Test public void cacheDoesNotKeepContextAlive() throws InterruptedException {
+        WeakReference<Context> context = cacheStringOfNewContext();
+        for (int i = 0; i < 100 && context.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(context.get());
+    }
+
+    /** Caches a string of a new context, which is only referenced by the returned reference then. */
+    private static WeakReference<Context> cacheStringOfNewContext() {
+        Context context = new CountingContext();
+        ResourceCache.get(context).getString(1);
+        return new WeakReference<Context>(context);
+    }
+
+    static final class CountingContext extends Context {
+        final CountingResources resources = new CountingResources();
+        Resources.Theme theme = resources.newTheme();
+
+        @Override public Resources getResources() {
+            return resources;
+        }
+
+        @Override public Resources.Theme getTheme() {
+            return theme;
+        }
+    }
+
+    static final class CountingResources extends Resources {
+        int stringLoads;
+        int drawableLoads;
+        Theme drawableTheme;
+
+        @Override public String getString(int id) {
+            stringLoads++;
+            return super.getString(id);
+        }
+
+        @Override public Drawable getDrawable(int id, Theme theme) {
+            drawableLoads++;
+            drawableTheme = theme;
+            return super.getDrawable(id, theme);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Adapter;
+import android.widget.AdapterView;
+
+import com.laomo.inject.SmartKnife.Unbinder;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class UnbinderTest {
+
+    private ViewGroup root;
+    private View button;
+    private Items items;
+    private View label;
+
+    @Before public void setUp() {
+        Context context = new Context();
+        root = new ViewGroup(context);
+        button = new View(context);
+        button.setId(1);
+        items = new Items(context);
+        items.setId(2);
+        label = new View(context);
+        label.setId(3);
+        root.addView(button);
+        root.addView(items);
+        root.addView(label);
+    }
+
+    @Test public void unbindDetachesListenersAndClearsFields() {
+        Target target = new Target();
+        Unbinder unbinder = SmartKnife.bind(target, (View) root);
+        assertSame(button, target.button);
+        assertSame(items, target.items);
+        assertTrue(button.performClick());
+        assertTrue(items.performItemClick(button, 0, 0));
+        assertTrue(label.performClick());
+        assertEquals(1, target.clicks);
+        assertEquals(1, target.itemClicks);
+        assertEquals(1, target.labelClicks);
+
+        unbinder.unbind();
+
+        assertNull(target.button);
+        assertNull(target.items);
+        assertFalse(button.performClick());
+        assertFalse(items.performItemClick(button, 0, 0));
+        assertFalse(label.performClick());
+    }
+
+    @Test public void unbindTwiceThrows() {
+        Unbinder unbinder = SmartKnife.bind(new Target(), (View) root);
+        unbinder.unbind();
+        try {
+            unbinder.unbind();
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals("Bindings already cleared.", expected.getMessage());
+        }
+    }
+
+    @Test public void unboundTargetCanBeCollected() throws InterruptedException {
+        Unbinder[] unbinder = new Unbinder[1];
+        WeakReference<Target> reference = bind(unbinder);
+        unbinder[0].unbind();
+
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("The views still reference the target", reference.get());
+    }
+
+    /** Binds a target that nothing but the views and the unbinder refer to. */
+    private WeakReference<Target> bind(Unbinder[] unbinder) {
+        Target target = new Target();
+        unbinder[0] = SmartKnife.bind(target, (View) root);
+        return new WeakReference<Target>(target);
+    }
+
+    static class Target implements View.OnClickListener, AdapterView.OnItemClickListener {
+        int clicks;
+        int itemClicks;
+        int labelClicks;
+
+        @ViewInject(id = 1, click = true) View button;
+        @ViewInject(id = 2, itemClick = true) Items items;
+
+        @OnClick(id = 3) void onLabel() {
+            labelClicks++;
+        }
+
+        @Override public void onClick(View v) {
+            clicks++;
+        }
+
+        @Override public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+            itemClicks++;
+        }
+    }
+
+    static final class Items extends AdapterView<Adapter> {
+        Items(Context context) {
+            super(context);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.laomo.inject;
+
+import android.view.View;
+
+import com.laomo.inject.SmartKnife.ViewBinder;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ViewBinderCacheTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    private static final List<Class<?>> TARGETS = Collections.unmodifiableList(Arrays.<Class<?>>asList(
+            Target1.class, Target2.class, Target3.class, Target4.class, Target5.class,
+            Target6.class, Target7.class, Target8.class, Subclass.class));
+
+    @Before public void setUp() {
+        for (Class<?> cls : TARGETS) {
+            SmartKnife.INJECTORS.remove(cls);
+        }
+    }
+
+    @Test public void racingFirstLoadsShareOneBinder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                setUp();
+                final CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<ViewBinder<Object>>>> results = new ArrayList<Future<List<ViewBinder<Object>>>>();
+                for (int thread = 0; thread < THREADS; thread++) {
+                    results.add(executor.submit(new Callable<List<ViewBinder<Object>>>() {
+                        @Override public List<ViewBinder<Object>> call() throws Exception {
+                            start.await();
+                            List<ViewBinder<Object>> binders = new ArrayList<ViewBinder<Object>>();
+                            for (Class<?> cls : TARGETS) {
+                                binders.add(SmartKnife.findViewBinderForClass(cls));
+                            }
+                            return binders;
+                        }
+                    }));
+                }
+                start.countDown();
+                for (Future<List<ViewBinder<Object>>> result : results) {
+                    List<ViewBinder<Object>> binders = result.get();
+                    for (int i = 0; i < TARGETS.size(); i++) {
+                        assertSame(TARGETS.get(i).getName(), SmartKnife.INJECTORS.get(TARGETS.get(i)), binders.get(i));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(Target1.class.getName() + SmartKnifeProcessor.SUFFIX,
+                SmartKnife.INJECTORS.get(Target1.class).getClass().getName());
+        assertEquals(Target8.class.getName() + SmartKnifeProcessor.SUFFIX,
+                SmartKnife.INJECTORS.get(Subclass.class).getClass().getName());
+    }
+
+    @Test public void bindsWhileOtherThreadsLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int seed = thread;
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override public Integer call() throws Exception {
+                        List<Class<?>> order = new ArrayList<Class<?>>(TARGETS);
+                        Collections.shuffle(order, new Random(seed));
+                        View root = new View(null) {
+                            @Override protected View findViewTraversal(int id) {
+                                return this;
+                            }
+                        };
+                        start.await();
+                        int bound = 0;
+                        for (int i = 0; i < ROUNDS; i++) {
+                            for (Class<?> cls : order) {
+                                Target target = (Target) cls.newInstance();
+                                SmartKnife.bind(target, root);
+                                assertSame(root, target.view);
+                                bound++;
+                            }
+                        }
+                        return bound;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(ROUNDS * TARGETS.size(), result.get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static class Target {
+        @ViewInject(id = 1) View view;
+    }
+
+    static class Target1 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target2 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target3 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target4 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target5 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target6 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target7 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    static class Target8 extends Target {
+        @ViewInject(id = 2) View other;
+    }
+
+    /** Has no binder of its own and resolves to the one of {@link Target8}. */
+    static class Subclass extends Target8 {
+    }
+}
@@ -0,0 +1,169 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URLClassLoader;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ViewLookupBindTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private CountingViewGroup root;
+    private Label title;
+    private View button;
+
+    @Before public void setUp() {
+        Context context = new Context();
+        root = new CountingViewGroup(context);
+        CountingViewGroup content = new CountingViewGroup(context);
+        title = new Label(context);
+        title.setId(1);
+        button = new View(context);
+        button.setId(2);
+        content.addView(title);
+        content.addView(button);
+        root.addView(content);
+    }
+
+    @Test public void bindThroughResolvedLookupDoesNotWalkTheTree() {
+        ViewLookup lookup = new ViewLookup(root);
+        lookup.resolveAll();
+        CountingViewGroup.traversals = 0;
+
+        Child target = new Child();
+        SmartKnife.bind(target, lookup);
+
+        assertSame(title, target.title);
+        assertSame(button, target.button);
+        assertEquals(0, CountingViewGroup.traversals);
+    }
+
+    @Test public void bindThroughRootWalksTheTree() {
+        CountingViewGroup.traversals = 0;
+
+        Child target = new Child();
+        SmartKnife.bind(target, (View) root);
+
+        assertSame(title, target.title);
+        assertSame(button, target.button);
+        assertTrue(CountingViewGroup.traversals > 0);
+    }
+
+    @Test public void singlePassBinderUsesResolvedLookup() throws Exception {
+        assertEquals(0, countWalksOfProbe("-Asmartknife.singlePass=true"));
+    }
+
+    @Test public void bytecodeBinderUsesResolvedLookup() throws Exception {
+        assertEquals(0, countWalksOfProbe("-Asmartknife.bytecode=true"));
+    }
+
+    @Test public void consolidatedBinderUsesResolvedLookup() throws Exception {
+        assertEquals(0, countWalksOfProbe("-Asmartknife.consolidate=true", "-Asmartknife.index=p.Index"));
+    }
+
+    /**
+     * Compiles {@code p.Probe} with {@code options}; returns the tree walks of binding it through a
+     * resolved lookup. The index {@code p.Index} is registered if the options generate it.
+     */
+    private int countWalksOfProbe(String... options) throws Exception {
+        File src = temporaryFolder.newFolder("src");
+        File probe = Compilation.writeSource(src, "p.Probe", ""
+                + "package p;\n"
+                + "import android.content.Context;\n"
+                + "import android.view.View;\n"
+                + "import android.view.ViewGroup;\n"
+                + "import com.laomo.inject.SmartKnife;\n"
+                + "import com.laomo.inject.ViewInject;\n"
+                + "import com.laomo.inject.ViewLookup;\n"
+                + "public class Probe {\n"
+                + "    static int walks;\n"
+                + "    @ViewInject(id = 1) View title;\n"
+                + "    public static class Sub extends Probe {\n"
+                + "        @ViewInject(id = 2) View button;\n"
+                + "    }\n"
+                + "    public static int bindThroughResolvedLookup() {\n"
+                + "        Context context = new Context();\n"
+                + "        ViewGroup root = new ViewGroup(context) {\n"
+                + "            @Override public View getChildAt(int index) {\n"
+                + "                walks++;\n"
+                + "                return super.getChildAt(index);\n"
+                + "            }\n"
+                + "            @Override protected View findViewTraversal(int id) {\n"
+                + "                walks++;\n"
+                + "                return super.findViewTraversal(id);\n"
+                + "            }\n"
+                + "        };\n"
+                + "        View title = new View(context);\n"
+                + "        title.setId(1);\n"
+                + "        View button = new View(context);\n"
+                + "        button.setId(2);\n"
+                + "        root.addView(title);\n"
+                + "        root.addView(button);\n"
+                + "        ViewLookup lookup = new ViewLookup(root);\n"
+                + "        lookup.findViewsById(new int[] { 1, 2 });\n"
+                + "        walks = 0;\n"
+                + "        Sub target = new Sub();\n"
+                + "        SmartKnife.bind(target, lookup);\n"
+                + "        if (target.title != title || target.button != button) {\n"
+                + "            throw new AssertionError(\"Not bound.\");\n"
+                + "        }\n"
+                + "        return walks;\n"
+                + "    }\n"
+                + "}\n");
+        Compilation compilation = Compilation.compile(temporaryFolder.newFolder("out"),
+                Collections.singletonList(probe), options);
+        assertTrue(compilation.diagnostics.toString(), compilation.success);
+        URLClassLoader loader = compilation.newClassLoader();
+        try {
+            if (new File(compilation.classesDir, "p/Index.class").isFile()) {
+                loader.loadClass(SmartKnife.class.getName())
+                        .getMethod("addIndex", loader.loadClass(SmartKnife.BinderIndex.class.getName()))
+                        .invoke(null, loader.loadClass("p.Index").newInstance());
+            }
+            return (Integer) loader.loadClass("p.Probe").getMethod("bindThroughResolvedLookup").invoke(null);
+        } finally {
+            loader.close();
+        }
+    }
+
+    static class Parent {
+        @ViewInject(id = 1) Label title;
+    }
+
+    static class Child extends Parent {
+        @ViewInject(id = 2) View button;
+    }
+
+    static final class Label extends View {
+        Label(Context context) {
+            super(context);
+        }
+    }
+
+    /** Counts the searches that reach it through {@code findViewById}. */
+    static final class CountingViewGroup extends ViewGroup {
+        static int traversals;
+
+        CountingViewGroup(Context context) {
+            super(context);
+        }
+
+        @Override protected View findViewTraversal(int id) {
+            traversals++;
+            return super.findViewTraversal(id);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+// Generated code from SmartKnife. Do not modify!
+package golden;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.AdapterView;
+import android.widget.AdapterView.OnItemClickListener;
+import com.laomo.inject.SmartKnife.BindCounts;
+import com.laomo.inject.SmartKnife.Finder;
+import com.laomo.inject.SmartKnife.Unbinder;
+import com.laomo.inject.ViewLookup;
+
+public class DetailScreen$$ViewBinder<T extends DetailScreen> extends golden.Screen$$ViewBinder<T> {
+
+  @Override public Unbinder bind(Finder finder, T target, Object source) {
+    return bind(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bind(DetailScreen target, Activity source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(DetailScreen target, Dialog source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(DetailScreen target, View source) {
+    return bind(target, source, null);
+  }
+
+  public static Unbinder bind(DetailScreen target, View source, ViewLookup lookup) {
+    Unbinder parentUnbinder = golden.Screen$$ViewBinder.bind(target, source, lookup);
+    ViewUnbinder unbinder = new ViewUnbinder(target, parentUnbinder);
+    View view;
+    int missing = 0;
+    view = Finder.findViewById(source, lookup, 10);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 10, "related");
+    }
+    try {
+      target.related = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 10, "related", e);
+    }
+    android.view.View[] views0 = new android.view.View[2];
+    view = Finder.findViewById(source, lookup, 11);
+    if (view == null) {
+      missing++;
+    }
+    views0[0] = view;
+    view = Finder.findViewById(source, lookup, 12);
+    if (view == null) {
+      missing++;
+    }
+    views0[1] = view;
+    target.extras = Finder.arrayOf(views0);
+    unbinder.resolved += 3 - missing;
+    unbinder.missing += missing;
+    return unbinder;
+  }
+
+  @Override public void unbind(T target) {
+    super.unbind(target);
+    target.related = null;
+    target.extras = null;
+  }
+
+  static final class ViewUnbinder implements Unbinder, BindCounts {
+    private DetailScreen target;
+    private Unbinder parent;
+    int resolved;
+    int missing;
+
+    ViewUnbinder(DetailScreen target, Unbinder parent) {
+      this.target = target;
+      this.parent = parent;
+      resolved = ((BindCounts) parent).viewsResolved();
+      missing = ((BindCounts) parent).optionalViewsMissing();
+    }
+
+    @Override public int viewsResolved() {
+      return resolved;
+    }
+
+    @Override public int optionalViewsMissing() {
+      return missing;
+    }
+
+    @Override public void unbind() {
+      DetailScreen target = this.target;
+      if (target == null) {
+        throw new IllegalStateException("Bindings already cleared.");
+      }
+      this.target = null;
+      target.related = null;
+      target.extras = null;
+      parent.unbind();
+      parent = null;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+// Generated code from SmartKnife. Do not modify!
+package golden;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.AdapterView;
+import android.widget.AdapterView.OnItemClickListener;
+import com.laomo.inject.SmartKnife.BindCounts;
+import com.laomo.inject.SmartKnife.Finder;
+import com.laomo.inject.SmartKnife.Unbinder;
+import com.laomo.inject.SmartKnife.ViewBinder;
+import com.laomo.inject.ResourceCache;
+import com.laomo.inject.ViewLookup;
+
+public class Screen$$ViewBinder<T extends Screen> implements ViewBinder<T> {
+
+  @Override public Unbinder bind(Finder finder, T target, Object source) {
+    return bind(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bind(Screen target, Activity source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(Screen target, Dialog source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(Screen target, View source) {
+    return bind(target, source, null);
+  }
+
+  public static Unbinder bind(final Screen target, View source, ViewLookup lookup) {
+    ViewUnbinder unbinder = new ViewUnbinder(target);
+    View view;
+    ResourceCache resources = ResourceCache.get(source.getContext());
+    target.label = resources.getString(100);
+    int missing = 0;
+    view = Finder.findViewById(source, lookup, 3);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 3, "title");
+    }
+    target.title = view;
+    view = Finder.findViewById(source, lookup, 1);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 1, "button");
+    }
+    target.button = view;
+    target.button.setOnClickListener(target);
+    unbinder.view1 = view;
+    view = Finder.findViewById(source, lookup, 2);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 2, "items");
+    }
+    try {
+      target.items = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 2, "items", e);
+    }
+    target.items.setOnItemClickListener(target);
+    unbinder.view2 = view;
+    view = Finder.findViewById(source, lookup, 4);
+    if (view == null) {
+      missing++;
+    }
+    target.badge = view;
+    target.details = Finder.lazyView(source, 5, "details", true, android.view.View.class);
+    android.view.View[] views0 = new android.view.View[2];
+    view = Finder.findViewById(source, lookup, 7);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 7, "tabs");
+    }
+    views0[0] = view;
+    view = Finder.findViewById(source, lookup, 6);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 6, "tabs");
+    }
+    views0[1] = view;
+    target.tabs = Finder.listOf(views0);
+    OnClickListener clickListener = new OnClickListener() {
+      private long lastClick0;
+      @Override public void onClick(View v) {
+        switch (v.getId()) {
+          case 9:
+          case 8: {
+            long now = SystemClock.uptimeMillis();
+            if (now - lastClick0 < 500L) {
+              return;
+            }
+            lastClick0 = now;
+            target.onAction(v);
+            break;
+          }
+        }
+      }
+    };
+    view = Finder.findViewById(source, lookup, 9);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 9, "method 'onAction'");
+    }
+    view.setOnClickListener(clickListener);
+    unbinder.view9 = view;
+    view = Finder.findViewById(source, lookup, 8);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 8, "method 'onAction'");
+    }
+    view.setOnClickListener(clickListener);
+    unbinder.view8 = view;
+    unbinder.resolved += 8 - missing;
+    unbinder.missing += missing;
+    return unbinder;
+  }
+
+  @Override public void unbind(T target) {
+    target.title = null;
+    target.button = null;
+    target.items = null;
+    target.badge = null;
+    target.details = null;
+    target.tabs = null;
+  }
+
+  static final class ViewUnbinder implements Unbinder, BindCounts {
+    private Screen target;
+    int resolved;
+    int missing;
+    View view1;
+    View view9;
+    View view8;
+    View view2;
+
+    ViewUnbinder(Screen target) {
+      this.target = target;
+    }
+
+    @Override public int viewsResolved() {
+      return resolved;
+    }
+
+    @Override public int optionalViewsMissing() {
+      return missing;
+    }
+
+    @Override public void unbind() {
+      Screen target = this.target;
+      if (target == null) {
+        throw new IllegalStateException("Bindings already cleared.");
+      }
+      this.target = null;
+      view1.setOnClickListener(null);
+      view1 = null;
+      view9.setOnClickListener(null);
+      view9 = null;
+      view8.setOnClickListener(null);
+      view8 = null;
+      ((AdapterView<?>) view2).setOnItemClickListener(null);
+      view2 = null;
+      target.title = null;
+      target.button = null;
+      target.items = null;
+      target.badge = null;
+      target.details = null;
+      target.tabs = null;
+    }
+  }
+}
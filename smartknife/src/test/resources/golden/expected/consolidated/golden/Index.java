@@ -0,0 +1,37 @@
+// Generated code from SmartKnife. Do not modify!
+package golden;
+
+import com.laomo.inject.SmartKnife.BinderIndex;
+import com.laomo.inject.SmartKnife.ViewBinder;
+
+public final class Index implements BinderIndex {
+
+  @SuppressWarnings("unchecked") // Binders only ever receive targets of their own class.
+  @Override public ViewBinder<Object> newBinder(Class<?> cls) {
+    if (cls == golden.DetailScreen.class) {
+      return new golden.SmartKnife$$Binders(0);
+    }
+    if (cls == golden.Header.class) {
+      return new golden.SmartKnife$$Binders(1);
+    }
+    if (cls == golden.Row.ViewHolder.class) {
+      return new golden.SmartKnife$$Binders(2);
+    }
+    if (cls == golden.Screen.class) {
+      return new golden.SmartKnife$$Binders(3);
+    }
+    if (cls == golden.DetailScreen.Preview.class) {
+      return new golden.SmartKnife$$Binders(0);
+    }
+    return null;
+  }
+
+  @Override public Class<?>[] targetClasses() {
+    return new Class<?>[] {
+        golden.DetailScreen.class,
+        golden.Header.class,
+        golden.Row.ViewHolder.class,
+        golden.Screen.class,
+    };
+  }
+}
@@ -0,0 +1,407 @@
+// Generated code from SmartKnife. Do not modify!
+package golden;
+
+import android.os.SystemClock;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.AdapterView;
+import android.widget.AdapterView.OnItemClickListener;
+import com.laomo.inject.SmartKnife.BindCounts;
+import com.laomo.inject.SmartKnife.BinderIndex;
+import com.laomo.inject.SmartKnife.Finder;
+import com.laomo.inject.SmartKnife.Unbinder;
+import com.laomo.inject.SmartKnife.ViewBinder;
+import com.laomo.inject.ResourceCache;
+import com.laomo.inject.ViewLookup;
+
+public final class SmartKnife$$Binders implements ViewBinder<Object> {
+
+  /** Index of the target this binder binds. */
+  private final int binder;
+
+  public SmartKnife$$Binders(int binder) {
+    this.binder = binder;
+  }
+
+  @Override public Unbinder bind(Finder finder, Object target, Object source) {
+    switch (binder) {
+      case 0:
+        return bindDetailScreen(finder, (golden.DetailScreen) target, source);
+      case 1:
+        return bindHeader(finder, (golden.Header) target, source);
+      case 2:
+        return bindRow$ViewHolder(finder, (golden.Row.ViewHolder) target, source);
+      default:
+        return bindScreen(finder, (golden.Screen) target, source);
+    }
+  }
+
+  @Override public void unbind(Object target) {
+    switch (binder) {
+      case 0:
+        unbindDetailScreen((golden.DetailScreen) target);
+        break;
+      case 1:
+        unbindHeader((golden.Header) target);
+        break;
+      case 2:
+        unbindRow$ViewHolder((golden.Row.ViewHolder) target);
+        break;
+      default:
+        unbindScreen((golden.Screen) target);
+        break;
+    }
+  }
+
+  public static Unbinder bindDetailScreen(Finder finder, DetailScreen target, Object source) {
+    return bindDetailScreen(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bindDetailScreen(DetailScreen target, View source) {
+    return bindDetailScreen(target, source, null);
+  }
+
+  public static Unbinder bindDetailScreen(DetailScreen target, View source, ViewLookup lookup) {
+    Unbinder parentUnbinder = golden.SmartKnife$$Binders.bindScreen(target, source, lookup);
+    ViewUnbinder unbinder = new ViewUnbinder(0, target, parentUnbinder, 0);
+    View view;
+    int missing = 0;
+    view = Finder.findViewById(source, lookup, 10);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 10, "related");
+    }
+    try {
+      target.related = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 10, "related", e);
+    }
+    android.view.View[] views0 = new android.view.View[2];
+    view = Finder.findViewById(source, lookup, 11);
+    if (view == null) {
+      missing++;
+    }
+    views0[0] = view;
+    view = Finder.findViewById(source, lookup, 12);
+    if (view == null) {
+      missing++;
+    }
+    views0[1] = view;
+    target.extras = Finder.arrayOf(views0);
+    unbinder.resolved += 3 - missing;
+    unbinder.missing += missing;
+    return unbinder;
+  }
+
+  public static void unbindDetailScreen(DetailScreen target) {
+    golden.SmartKnife$$Binders.unbindScreen(target);
+    target.related = null;
+    target.extras = null;
+  }
+
+  static void clearDetailScreen(DetailScreen target, View[] views) {
+    target.related = null;
+    target.extras = null;
+  }
+
+  public static Unbinder bindHeader(Finder finder, Header target, Object source) {
+    return bindHeader(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bindHeader(Header target, View source) {
+    return bindHeader(target, source, null);
+  }
+
+  public static Unbinder bindHeader(Header target, View source, ViewLookup lookup) {
+    ViewUnbinder unbinder = new ViewUnbinder(1, target, null, 0);
+    View view;
+    int missing = 0;
+    view = Finder.findViewById(source, lookup, 31);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 31, "logo");
+    }
+    target.logo = view;
+    view = Finder.findViewById(source, lookup, 30);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 30, "menu");
+    }
+    try {
+      target.menu = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 30, "menu", e);
+    }
+    view = Finder.findViewById(source, lookup, 32);
+    if (view == null) {
+      missing++;
+    }
+    target.search = view;
+    unbinder.resolved += 3 - missing;
+    unbinder.missing += missing;
+    return unbinder;
+  }
+
+  public static void unbindHeader(Header target) {
+    target.logo = null;
+    target.menu = null;
+    target.search = null;
+  }
+
+  static void clearHeader(Header target, View[] views) {
+    target.logo = null;
+    target.menu = null;
+    target.search = null;
+  }
+
+  public static Unbinder bindRow$ViewHolder(Finder finder, Row.ViewHolder target, Object source) {
+    return bindRow$ViewHolder(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bindRow$ViewHolder(Row.ViewHolder target, View source) {
+    return bindRow$ViewHolder(target, source, null);
+  }
+
+  public static Unbinder bindRow$ViewHolder(final Row.ViewHolder target, View source, ViewLookup lookup) {
+    ViewUnbinder unbinder = new ViewUnbinder(2, target, null, 1);
+    View view;
+    view = Finder.findViewById(source, lookup, 20);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 20, "icon");
+    }
+    target.icon = view;
+    view = Finder.findViewById(source, lookup, 21);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 21, "children");
+    }
+    try {
+      target.children = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 21, "children", e);
+    }
+    OnClickListener clickListener = new OnClickListener() {
+      @Override public void onClick(View v) {
+        switch (v.getId()) {
+          case 20:
+            target.onIcon();
+            break;
+        }
+      }
+    };
+    view = Finder.findViewById(source, lookup, 20);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 20, "method 'onIcon'");
+    }
+    view.setOnClickListener(clickListener);
+    unbinder.views[0] = view;
+    unbinder.resolved += 3;
+    return unbinder;
+  }
+
+  public static void unbindRow$ViewHolder(Row.ViewHolder target) {
+    target.icon = null;
+    target.children = null;
+  }
+
+  static void clearRow$ViewHolder(Row.ViewHolder target, View[] views) {
+    views[0].setOnClickListener(null);
+    views[0] = null;
+    target.icon = null;
+    target.children = null;
+  }
+
+  public static Unbinder bindScreen(Finder finder, Screen target, Object source) {
+    return bindScreen(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bindScreen(Screen target, View source) {
+    return bindScreen(target, source, null);
+  }
+
+  public static Unbinder bindScreen(final Screen target, View source, ViewLookup lookup) {
+    ViewUnbinder unbinder = new ViewUnbinder(3, target, null, 4);
+    View view;
+    ResourceCache resources = ResourceCache.get(source.getContext());
+    target.label = resources.getString(100);
+    int missing = 0;
+    view = Finder.findViewById(source, lookup, 3);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 3, "title");
+    }
+    target.title = view;
+    view = Finder.findViewById(source, lookup, 1);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 1, "button");
+    }
+    target.button = view;
+    target.button.setOnClickListener(target);
+    unbinder.views[0] = view;
+    view = Finder.findViewById(source, lookup, 2);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 2, "items");
+    }
+    try {
+      target.items = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 2, "items", e);
+    }
+    target.items.setOnItemClickListener(target);
+    unbinder.views[3] = view;
+    view = Finder.findViewById(source, lookup, 4);
+    if (view == null) {
+      missing++;
+    }
+    target.badge = view;
+    target.details = Finder.lazyView(source, 5, "details", true, android.view.View.class);
+    android.view.View[] views0 = new android.view.View[2];
+    view = Finder.findViewById(source, lookup, 7);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 7, "tabs");
+    }
+    views0[0] = view;
+    view = Finder.findViewById(source, lookup, 6);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 6, "tabs");
+    }
+    views0[1] = view;
+    target.tabs = Finder.listOf(views0);
+    OnClickListener clickListener = new OnClickListener() {
+      private long lastClick0;
+      @Override public void onClick(View v) {
+        switch (v.getId()) {
+          case 9:
+          case 8: {
+            long now = SystemClock.uptimeMillis();
+            if (now - lastClick0 < 500L) {
+              return;
+            }
+            lastClick0 = now;
+            target.onAction(v);
+            break;
+          }
+        }
+      }
+    };
+    view = Finder.findViewById(source, lookup, 9);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 9, "method 'onAction'");
+    }
+    view.setOnClickListener(clickListener);
+    unbinder.views[1] = view;
+    view = Finder.findViewById(source, lookup, 8);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 8, "method 'onAction'");
+    }
+    view.setOnClickListener(clickListener);
+    unbinder.views[2] = view;
+    unbinder.resolved += 8 - missing;
+    unbinder.missing += missing;
+    return unbinder;
+  }
+
+  public static void unbindScreen(Screen target) {
+    target.title = null;
+    target.button = null;
+    target.items = null;
+    target.badge = null;
+    target.details = null;
+    target.tabs = null;
+  }
+
+  static void clearScreen(Screen target, View[] views) {
+    views[0].setOnClickListener(null);
+    views[0] = null;
+    views[1].setOnClickListener(null);
+    views[1] = null;
+    views[2].setOnClickListener(null);
+    views[2] = null;
+    ((AdapterView<?>) views[3]).setOnItemClickListener(null);
+    views[3] = null;
+    target.title = null;
+    target.button = null;
+    target.items = null;
+    target.badge = null;
+    target.details = null;
+    target.tabs = null;
+  }
+
+  static final class ViewUnbinder implements Unbinder, BindCounts {
+    private static final View[] NO_VIEWS = {};
+
+    private final int binder;
+    private Object target;
+    private Unbinder parent;
+    int resolved;
+    int missing;
+    final View[] views;
+
+    ViewUnbinder(int binder, Object target, Unbinder parent, int viewCount) {
+      this.binder = binder;
+      this.target = target;
+      this.parent = parent;
+      views = viewCount == 0 ? NO_VIEWS : new View[viewCount];
+      if (parent != null) {
+        resolved = ((BindCounts) parent).viewsResolved();
+        missing = ((BindCounts) parent).optionalViewsMissing();
+      }
+    }
+
+    @Override public int viewsResolved() {
+      return resolved;
+    }
+
+    @Override public int optionalViewsMissing() {
+      return missing;
+    }
+
+    @Override public void unbind() {
+      Object target = this.target;
+      if (target == null) {
+        throw new IllegalStateException("Bindings already cleared.");
+      }
+      this.target = null;
+      switch (binder) {
+        case 0:
+          clearDetailScreen((golden.DetailScreen) target, views);
+          break;
+        case 1:
+          clearHeader((golden.Header) target, views);
+          break;
+        case 2:
+          clearRow$ViewHolder((golden.Row.ViewHolder) target, views);
+          break;
+        default:
+          clearScreen((golden.Screen) target, views);
+          break;
+      }
+      if (parent != null) {
+        parent.unbind();
+        parent = null;
+      }
+    }
+  }
+
+  public static final class Index implements BinderIndex {
+    @Override public ViewBinder<Object> newBinder(Class<?> cls) {
+      if (cls == golden.DetailScreen.class) {
+        return new SmartKnife$$Binders(0);
+      }
+      if (cls == golden.Header.class) {
+        return new SmartKnife$$Binders(1);
+      }
+      if (cls == golden.Row.ViewHolder.class) {
+        return new SmartKnife$$Binders(2);
+      }
+      if (cls == golden.Screen.class) {
+        return new SmartKnife$$Binders(3);
+      }
+      return null;
+    }
+
+    @Override public Class<?>[] targetClasses() {
+      return new Class<?>[] {
+          golden.DetailScreen.class,
+          golden.Header.class,
+          golden.Row.ViewHolder.class,
+          golden.Screen.class,
+      };
+    }
+  }
+}
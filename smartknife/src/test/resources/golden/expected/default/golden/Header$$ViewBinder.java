@@ -0,0 +1,97 @@
+// Generated code from SmartKnife. Do not modify!
+package golden;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.AdapterView;
+import android.widget.AdapterView.OnItemClickListener;
+import com.laomo.inject.SmartKnife.BindCounts;
+import com.laomo.inject.SmartKnife.Finder;
+import com.laomo.inject.SmartKnife.Unbinder;
+import com.laomo.inject.SmartKnife.ViewBinder;
+import com.laomo.inject.ViewLookup;
+
+public class Header$$ViewBinder<T extends Header> implements ViewBinder<T> {
+
+  @Override public Unbinder bind(Finder finder, T target, Object source) {
+    return bind(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bind(Header target, Activity source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(Header target, Dialog source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(Header target, View source) {
+    return bind(target, source, null);
+  }
+
+  public static Unbinder bind(Header target, View source, ViewLookup lookup) {
+    ViewUnbinder unbinder = new ViewUnbinder(target);
+    View view;
+    int missing = 0;
+    view = Finder.findViewById(source, lookup, 31);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 31, "logo");
+    }
+    target.logo = view;
+    view = Finder.findViewById(source, lookup, 30);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 30, "menu");
+    }
+    try {
+      target.menu = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 30, "menu", e);
+    }
+    view = Finder.findViewById(source, lookup, 32);
+    if (view == null) {
+      missing++;
+    }
+    target.search = view;
+    unbinder.resolved += 3 - missing;
+    unbinder.missing += missing;
+    return unbinder;
+  }
+
+  @Override public void unbind(T target) {
+    target.logo = null;
+    target.menu = null;
+    target.search = null;
+  }
+
+  static final class ViewUnbinder implements Unbinder, BindCounts {
+    private Header target;
+    int resolved;
+    int missing;
+
+    ViewUnbinder(Header target) {
+      this.target = target;
+    }
+
+    @Override public int viewsResolved() {
+      return resolved;
+    }
+
+    @Override public int optionalViewsMissing() {
+      return missing;
+    }
+
+    @Override public void unbind() {
+      Header target = this.target;
+      if (target == null) {
+        throw new IllegalStateException("Bindings already cleared.");
+      }
+      this.target = null;
+      target.logo = null;
+      target.menu = null;
+      target.search = null;
+    }
+  }
+}
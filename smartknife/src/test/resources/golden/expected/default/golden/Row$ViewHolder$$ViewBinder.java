@@ -0,0 +1,106 @@
+// Generated code from SmartKnife. Do not modify!
+package golden;
+
+import android.app.Activity;
+import android.app.Dialog;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.View.OnClickListener;
+import android.widget.AdapterView;
+import android.widget.AdapterView.OnItemClickListener;
+import com.laomo.inject.SmartKnife.BindCounts;
+import com.laomo.inject.SmartKnife.Finder;
+import com.laomo.inject.SmartKnife.Unbinder;
+import com.laomo.inject.SmartKnife.ViewBinder;
+import com.laomo.inject.ViewLookup;
+
+public class Row$ViewHolder$$ViewBinder<T extends Row.ViewHolder> implements ViewBinder<T> {
+
+  @Override public Unbinder bind(Finder finder, T target, Object source) {
+    return bind(target, finder.getRoot(source), finder.getLookup(source));
+  }
+
+  public static Unbinder bind(Row.ViewHolder target, Activity source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(Row.ViewHolder target, Dialog source) {
+    return bind(target, source.getWindow().getDecorView());
+  }
+
+  public static Unbinder bind(Row.ViewHolder target, View source) {
+    return bind(target, source, null);
+  }
+
+  public static Unbinder bind(final Row.ViewHolder target, View source, ViewLookup lookup) {
+    ViewUnbinder unbinder = new ViewUnbinder(target);
+    View view;
+    view = Finder.findViewById(source, lookup, 20);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 20, "icon");
+    }
+    target.icon = view;
+    view = Finder.findViewById(source, lookup, 21);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 21, "children");
+    }
+    try {
+      target.children = (golden.Items) view;
+    } catch (ClassCastException e) {
+      throw Finder.wrongType(view, 21, "children", e);
+    }
+    OnClickListener clickListener = new OnClickListener() {
+      @Override public void onClick(View v) {
+        switch (v.getId()) {
+          case 20:
+            target.onIcon();
+            break;
+        }
+      }
+    };
+    view = Finder.findViewById(source, lookup, 20);
+    if (view == null) {
+      throw Finder.missingView(source.getContext(), 20, "method 'onIcon'");
+    }
+    view.setOnClickListener(clickListener);
+    unbinder.view20 = view;
+    unbinder.resolved += 3;
+    return unbinder;
+  }
+
+  @Override public void unbind(T target) {
+    target.icon = null;
+    target.children = null;
+  }
+
+  static final class ViewUnbinder implements Unbinder, BindCounts {
+    private Row.ViewHolder target;
+    int resolved;
+    int missing;
+    View view20;
+
+    ViewUnbinder(Row.ViewHolder target) {
+      this.target = target;
+    }
+
+    @Override public int viewsResolved() {
+      return resolved;
+    }
+
+    @Override public int optionalViewsMissing() {
+      return missing;
+    }
+
+    @Override public void unbind() {
+      Row.ViewHolder target = this.target;
+      if (target == null) {
+        throw new IllegalStateException("Bindings already cleared.");
+      }
+      this.target = null;
+      view20.setOnClickListener(null);
+      view20 = null;
+      target.icon = null;
+      target.children = null;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package golden;
+
+import android.view.View;
+
+import com.laomo.inject.ViewInject;
+import com.laomo.inject.ViewsInject;
+
+public class DetailScreen extends Screen {
+    @ViewInject(id = 10) Items related;
+    @Nullable @ViewsInject(id = { 11, 12 }) View[] extras;
+
+    /** Has no bindings of its own. */
+    public static class Preview extends DetailScreen {
+    }
+}
@@ -0,0 +1,11 @@
+package golden;
+
+import android.view.View;
+
+import com.laomo.inject.ViewInject;
+
+public class Header {
+    @ViewInject(id = 31) View logo;
+    @ViewInject(id = 30) Items menu;
+    @Nullable @ViewInject(id = 32) View search;
+}
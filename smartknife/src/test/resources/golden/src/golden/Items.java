@@ -0,0 +1,11 @@
+package golden;
+
+import android.content.Context;
+import android.widget.Adapter;
+import android.widget.AdapterView;
+
+public class Items extends AdapterView<Adapter> {
+    public Items(Context context) {
+        super(context);
+    }
+}
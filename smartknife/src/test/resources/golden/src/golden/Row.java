@@ -0,0 +1,17 @@
+package golden;
+
+import android.view.View;
+
+import com.laomo.inject.OnClick;
+import com.laomo.inject.ViewInject;
+
+public class Row {
+    public static class ViewHolder {
+        @ViewInject(id = 20) View icon;
+        @ViewInject(id = 21) Items children;
+
+        @OnClick(id = 20)
+        void onIcon() {
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package golden;
+
+import android.view.View;
+import android.widget.AdapterView;
+
+import com.laomo.inject.LazyView;
+import com.laomo.inject.OnClick;
+import com.laomo.inject.StringInject;
+import com.laomo.inject.ViewInject;
+import com.laomo.inject.ViewsInject;
+
+import java.util.List;
+
+public class Screen implements View.OnClickListener, AdapterView.OnItemClickListener {
+    @ViewInject(id = 3) View title;
+    @ViewInject(id = 1, click = true) View button;
+    @ViewInject(id = 2, itemClick = true) Items items;
+    @Nullable @ViewInject(id = 4) View badge;
+    @ViewInject(id = 5, lazy = true) LazyView<View> details;
+    @ViewsInject(id = { 7, 6 }) List<View> tabs;
+    @StringInject(id = 100) String label;
+
+    @OnClick(id = { 9, 8 }, debounce = 500)
+    void onAction(View view) {
+    }
+
+    @Override public void onClick(View v) {
+    }
+
+    @Override public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+    }
+}
@@ -0,0 +1,6 @@
+package android.annotation;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public @interface TargetApi {
+    int value();
+}
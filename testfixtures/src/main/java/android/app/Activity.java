@@ -0,0 +1,22 @@
+package android.app;
+
+import android.content.Context;
+import android.view.View;
+import android.view.Window;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Activity extends Context {
+    private final Window window = new Window(this);
+
+    public void setContentView(View view) {
+        window.setContentView(view);
+    }
+
+    public View findViewById(int id) {
+        return window.findViewById(id);
+    }
+
+    public Window getWindow() {
+        return window;
+    }
+}
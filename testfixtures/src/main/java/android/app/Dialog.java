@@ -0,0 +1,32 @@
+package android.app;
+
+import android.content.Context;
+import android.view.View;
+import android.view.Window;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Dialog {
+    private final Context context;
+    private final Window window;
+
+    public Dialog(Context context) {
+        this.context = context;
+        this.window = new Window(context);
+    }
+
+    public void setContentView(View view) {
+        window.setContentView(view);
+    }
+
+    public View findViewById(int id) {
+        return window.findViewById(id);
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public Window getWindow() {
+        return window;
+    }
+}
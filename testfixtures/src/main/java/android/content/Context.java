@@ -0,0 +1,24 @@
+package android.content;
+
+import android.content.res.Resources;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Context {
+    public static final String LAYOUT_INFLATER_SERVICE = "layout_inflater";
+
+    private final Resources resources = new Resources();
+    private final Resources.Theme theme = resources.newTheme();
+
+    public Resources getResources() {
+        return resources;
+    }
+
+    public Resources.Theme getTheme() {
+        return theme;
+    }
+
+    /** There are no system services; subclasses return their own, e.g. a {@code LayoutInflater}. */
+    public Object getSystemService(String name) {
+        return null;
+    }
+}
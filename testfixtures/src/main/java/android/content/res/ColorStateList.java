@@ -0,0 +1,5 @@
+package android.content.res;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class ColorStateList {
+}
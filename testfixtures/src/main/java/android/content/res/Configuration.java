@@ -0,0 +1,17 @@
+package android.content.res;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Configuration {
+    public int orientation;
+
+    public Configuration() {
+    }
+
+    public Configuration(Configuration o) {
+        orientation = o.orientation;
+    }
+
+    public boolean equals(Configuration that) {
+        return that != null && orientation == that.orientation;
+    }
+}
@@ -0,0 +1,51 @@
+package android.content.res;
+
+import android.graphics.drawable.Drawable;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Resources {
+    private final Configuration configuration = new Configuration();
+
+    public String getResourceEntryName(int id) {
+        return "id_" + id;
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    public String getString(int id) {
+        return "string_" + id;
+    }
+
+    public int getColor(int id) {
+        return id;
+    }
+
+    public ColorStateList getColorStateList(int id) {
+        return new ColorStateList();
+    }
+
+    public float getDimension(int id) {
+        return id * 1.5f;
+    }
+
+    public int getDimensionPixelSize(int id) {
+        return id;
+    }
+
+    public Drawable getDrawable(int id) {
+        return new Drawable();
+    }
+
+    public Drawable getDrawable(int id, Theme theme) {
+        return new Drawable();
+    }
+
+    public final Theme newTheme() {
+        return new Theme();
+    }
+
+    public final class Theme {
+    }
+}
@@ -0,0 +1,28 @@
+package android.graphics.drawable;
+
+import android.content.res.Resources;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Drawable {
+    private final ConstantState constantState = new ConstantState() {
+        @Override public Drawable newDrawable() {
+            return new Drawable();
+        }
+    };
+
+    public ConstantState getConstantState() {
+        return constantState;
+    }
+
+    public abstract static class ConstantState {
+        public abstract Drawable newDrawable();
+
+        public Drawable newDrawable(Resources res) {
+            return newDrawable();
+        }
+
+        public Drawable newDrawable(Resources res, Resources.Theme theme) {
+            return newDrawable(res);
+        }
+    }
+}
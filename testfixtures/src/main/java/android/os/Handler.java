@@ -0,0 +1,21 @@
+package android.os;
+
+/**
+ * JVM stand-in for the framework class, for the benchmarks and tests only. Posted runnables run
+ * right away on the posting thread, unless {@link Looper#prepareMainLooper()} made a thread the
+ * main thread.
+ */
+public class Handler {
+    private final Looper looper;
+
+    public Handler(Looper looper) {
+        this.looper = looper;
+    }
+
+    public final boolean post(Runnable r) {
+        if (!looper.enqueue(r)) {
+            r.run();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package android.os;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in for the framework class, for the benchmarks and tests only. Until
+ * {@link #prepareMainLooper()} is called there is no main thread and {@link Handler} runs posted
+ * runnables right away.
+ */
+public final class Looper {
+    private static final Looper MAIN = new Looper();
+
+    private final List<Runnable> queue = new ArrayList<Runnable>();
+    private volatile Thread thread;
+
+    private Looper() {
+    }
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+
+    /** Make the calling thread the main thread, whose runnables wait for {@link #loop()}. */
+    public static void prepareMainLooper() {
+        MAIN.thread = Thread.currentThread();
+    }
+
+    /**
+     * Run the runnables posted to the main looper so far on the calling thread. Unlike the
+     * framework, it returns once the queue is empty.
+     */
+    public static void loop() {
+        while (true) {
+            Runnable next;
+            synchronized (MAIN.queue) {
+                if (MAIN.queue.isEmpty()) {
+                    return;
+                }
+                next = MAIN.queue.remove(0);
+            }
+            next.run();
+        }
+    }
+
+    /** Discard the pending runnables and go back to running posted runnables right away. */
+    public void quit() {
+        thread = null;
+        synchronized (queue) {
+            queue.clear();
+        }
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    /** Queue {@code r} for {@link #loop()}, or return false if there is no main thread yet. */
+    boolean enqueue(Runnable r) {
+        if (thread == null) {
+            return false;
+        }
+        synchronized (queue) {
+            queue.add(r);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package android.os;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public final class SystemClock {
+
+    private static volatile long uptimeMillis = -1;
+
+    public static long uptimeMillis() {
+        long millis = uptimeMillis;
+        return millis >= 0 ? millis : System.nanoTime() / 1000000L;
+    }
+
+    /** Stand-in only: fixes the uptime at {@code millis}, or lets it follow the JVM clock again if negative. */
+    public static void setUptimeMillis(long millis) {
+        uptimeMillis = millis;
+    }
+}
@@ -0,0 +1,11 @@
+package android.os;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public final class Trace {
+
+    public static void beginSection(String sectionName) {
+    }
+
+    public static void endSection() {
+    }
+}
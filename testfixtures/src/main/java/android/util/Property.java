@@ -0,0 +1,14 @@
+package android.util;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public abstract class Property<T, V> {
+
+    public Property(Class<V> type, String name) {
+    }
+
+    public abstract V get(T object);
+
+    public void set(T object, V value) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,20 @@
+package android.view;
+
+import android.content.Context;
+
+/**
+ * JVM stand-in for the framework class, for the benchmarks and tests only. There are no layout
+ * resources; benchmarks build their view trees in code, see {@code ViewTrees}. Tests that inflate
+ * return a subclass from {@link Context#getSystemService(String)}.
+ */
+public class LayoutInflater {
+
+    public static LayoutInflater from(Context context) {
+        LayoutInflater inflater = (LayoutInflater) context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+        return inflater != null ? inflater : new LayoutInflater();
+    }
+
+    public View inflate(int resource, ViewGroup root, boolean attachToRoot) {
+        throw new UnsupportedOperationException("No layout resources in benchmarks.");
+    }
+}
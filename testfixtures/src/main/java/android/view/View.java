@@ -0,0 +1,90 @@
+package android.view;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class View {
+    public static final int NO_ID = -1;
+    public static final int VISIBLE = 0;
+    public static final int INVISIBLE = 4;
+    public static final int GONE = 8;
+
+    private final Context context;
+    private int id = NO_ID;
+    private OnClickListener onClickListener;
+    private int visibility;
+    private float alpha = 1f;
+    private boolean enabled = true;
+
+    public View(Context context) {
+        this.context = context;
+    }
+
+    public interface OnClickListener {
+        void onClick(View v);
+    }
+
+    public final View findViewById(int id) {
+        if (id == NO_ID) {
+            return null;
+        }
+        return findViewTraversal(id);
+    }
+
+    protected View findViewTraversal(int id) {
+        return id == this.id ? this : null;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public Resources getResources() {
+        return context.getResources();
+    }
+
+    public void setOnClickListener(OnClickListener l) {
+        onClickListener = l;
+    }
+
+    public boolean performClick() {
+        if (onClickListener != null) {
+            onClickListener.onClick(this);
+            return true;
+        }
+        return false;
+    }
+
+    public int getVisibility() {
+        return visibility;
+    }
+
+    public void setVisibility(int visibility) {
+        this.visibility = visibility;
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(float alpha) {
+        this.alpha = alpha;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
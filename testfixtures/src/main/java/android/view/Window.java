@@ -0,0 +1,24 @@
+package android.view;
+
+import android.content.Context;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public class Window {
+    private final ViewGroup decor;
+
+    public Window(Context context) {
+        decor = new ViewGroup(context);
+    }
+
+    public void setContentView(View view) {
+        decor.addView(view);
+    }
+
+    public View getDecorView() {
+        return decor;
+    }
+
+    public View findViewById(int id) {
+        return decor.findViewById(id);
+    }
+}
@@ -0,0 +1,5 @@
+package android.widget;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public interface Adapter {
+}
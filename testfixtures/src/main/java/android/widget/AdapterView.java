@@ -0,0 +1,30 @@
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/** JVM stand-in for the framework class, for the benchmarks and tests only. */
+public abstract class AdapterView<T extends Adapter> extends ViewGroup {
+    private OnItemClickListener onItemClickListener;
+
+    public AdapterView(Context context) {
+        super(context);
+    }
+
+    public interface OnItemClickListener {
+        void onItemClick(AdapterView<?> parent, View view, int position, long id);
+    }
+
+    public void setOnItemClickListener(OnItemClickListener listener) {
+        onItemClickListener = listener;
+    }
+
+    public boolean performItemClick(View view, int position, long id) {
+        if (onItemClickListener != null) {
+            onItemClickListener.onItemClick(this, view, position, id);
+            return true;
+        }
+        return false;
+    }
+}
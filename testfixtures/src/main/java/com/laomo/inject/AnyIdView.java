@@ -0,0 +1,15 @@
+package com.laomo.inject;
+
+import android.content.Context;
+import android.view.View;
+
+/** A root in which every ID resolves to the root itself, so any target binds. */
+public final class AnyIdView extends View {
+    public AnyIdView(Context context) {
+        super(context);
+    }
+
+    @Override protected View findViewTraversal(int id) {
+        return this;
+    }
+}
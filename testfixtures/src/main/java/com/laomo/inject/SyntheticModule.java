@@ -0,0 +1,95 @@
+package com.laomo.inject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes the sources of a synthetic app module: {@code classCount} binding targets with 1 to
+ * {@code maxFields} {@code @ViewInject} fields each, in inheritance chains {@code depth} deep,
+ * spread over packages of a hundred classes.
+ */
+final class SyntheticModule {
+
+    private static final int CLASSES_PER_PACKAGE = 100;
+
+    private final int classCount;
+    private final int maxFields;
+    private final int depth;
+    private final long seed;
+
+    SyntheticModule(int classCount, int maxFields, int depth, long seed) {
+        if (classCount < 1 || maxFields < 1 || depth < 1) {
+            throw new IllegalArgumentException("classCount, maxFields and depth must be positive");
+        }
+        this.classCount = classCount;
+        this.maxFields = maxFields;
+        this.depth = depth;
+        this.seed = seed;
+    }
+
+    /** Write the module below {@code dir} and return its source files. */
+    List<File> write(File dir) throws IOException {
+        Random random = new Random(seed);
+        List<File> files = new ArrayList<File>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            String packageName = getPackageName(i);
+            String className = "Target" + i;
+            // Classes form chains of length depth; the first one of each chain extends Object.
+            String superclass = i % depth == 0 ? null : "Target" + (i - 1);
+            if (superclass != null && (i - 1) / CLASSES_PER_PACKAGE != i / CLASSES_PER_PACKAGE) {
+                superclass = getClassName(i - 1);
+            }
+            int fieldCount = 1 + random.nextInt(maxFields);
+
+            File packageDir = new File(dir, packageName.replace('.', File.separatorChar));
+            if (!packageDir.isDirectory() && !packageDir.mkdirs()) {
+                throw new IOException("Unable to create " + packageDir);
+            }
+            File file = new File(packageDir, className + ".java");
+            Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+            try {
+                writer.write(generateClass(packageName, className, superclass, i, fieldCount));
+            } finally {
+                writer.close();
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /** Fully qualified name of the {@code index}th target. */
+    static String getClassName(int index) {
+        return getPackageName(index) + ".Target" + index;
+    }
+
+    private static String getPackageName(int index) {
+        return "com.example.synthetic.p" + index / CLASSES_PER_PACKAGE;
+    }
+
+    private static String generateClass(String packageName, String className, String superclass,
+                                        int index, int fieldCount) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("package ").append(packageName).append(";\n\n")
+                .append("import android.view.View;\n")
+                .append("import com.laomo.inject.ViewInject;\n\n")
+                .append("public class ").append(className);
+        if (superclass != null) {
+            builder.append(" extends ").append(superclass);
+        }
+        builder.append(" {\n");
+        for (int field = 0; field < fieldCount; field++) {
+            // Every class gets its own range of IDs.
+            int id = 0x7f080000 + index * 64 + field;
+            builder.append("    @ViewInject(id = ").append(id).append(") View view")
+                    .append(index).append('_').append(field).append(";\n");
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+}